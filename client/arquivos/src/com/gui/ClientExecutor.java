@@ -0,0 +1,72 @@
+package com.gui;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor compartilhado para toda a E/S e trabalho em segundo plano do cliente.
+ *
+ * Por padrão cada tarefa roda em uma thread virtual, de modo que leituras bloqueantes do socket
+ * não ocupam threads de plataforma. O modo pode ser trocado pela propriedade de sistema
+ * {@code fifa.executor}: {@code virtual} (padrão) ou {@code fixed:N} para um pool de N threads de plataforma.
+ */
+public final class ClientExecutor {
+    private static final AtomicInteger queuedTasks = new AtomicInteger(); // Tarefas submetidas que ainda não começaram
+    private static final AtomicInteger activeTasks = new AtomicInteger(); // Tarefas em execução
+    private static final ExecutorService executor = createExecutor(System.getProperty("fifa.executor", "virtual"));
+
+    private ClientExecutor() {
+    }
+
+    /**
+     * Cria o executor de acordo com o modo configurado.
+     *
+     * @param mode O modo do executor ({@code virtual} ou {@code fixed:N}).
+     * @return O executor criado.
+     */
+    private static ExecutorService createExecutor(String mode) {
+        if (mode.startsWith("fixed:")) {
+            // O leitor e o escritor do socket ocupam uma thread cada durante toda a conexão
+            int threads = Math.max(3, Integer.parseInt(mode.substring("fixed:".length()).trim()));
+            return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("client-", 0).daemon(true).factory());
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("client-", 0).factory());
+    }
+
+    /**
+     * Submete uma tarefa para execução em segundo plano.
+     *
+     * @param task A tarefa a ser executada.
+     */
+    public static void execute(Runnable task) {
+        queuedTasks.incrementAndGet();
+        executor.execute(() -> {
+            queuedTasks.decrementAndGet();
+            activeTasks.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeTasks.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Retorna a quantidade de tarefas submetidas que ainda aguardam execução.
+     *
+     * @return O número de tarefas na fila.
+     */
+    public static int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * Retorna a quantidade de tarefas em execução no momento.
+     *
+     * @return O número de tarefas ativas.
+     */
+    public static int getActiveTasks() {
+        return activeTasks.get();
+    }
+}
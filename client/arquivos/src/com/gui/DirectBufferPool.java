@@ -0,0 +1,74 @@
+package com.gui;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool de {@link ByteBuffer}s diretos organizados por classes de tamanho (potências de dois).
+ *
+ * Respostas grandes, como a listagem completa de um ano FIFA, ocupam centenas de KB; reaproveitar
+ * os buffers evita alocar memória nativa a cada resposta.
+ */
+public final class DirectBufferPool {
+    private static final int MIN_SHIFT = 12; // Menor classe: 4 KB
+    private static final int MAX_SHIFT = 24; // Maior classe mantida no pool: 16 MB
+    private static final int MAX_PER_CLASS = 4; // Quantidade máxima de buffers guardados por classe
+
+    private static final List<ConcurrentLinkedQueue<ByteBuffer>> pools = new ArrayList<>(); // Buffers livres de cada classe
+
+    static {
+        for (int shift = MIN_SHIFT; shift <= MAX_SHIFT; shift++) {
+            pools.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Obtém um buffer direto com pelo menos a capacidade pedida, já limitado a essa capacidade.
+     *
+     * @param capacity A capacidade mínima necessária.
+     * @return Um buffer pronto para escrita, com limite igual à capacidade pedida.
+     */
+    public static ByteBuffer acquire(int capacity) {
+        int shift = shiftFor(capacity);
+        ByteBuffer buffer = shift <= MAX_SHIFT ? pools.get(shift - MIN_SHIFT).poll() : null;
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(shift <= MAX_SHIFT ? 1 << shift : capacity);
+        }
+        buffer.clear().limit(capacity);
+        return buffer;
+    }
+
+    /**
+     * Devolve um buffer ao pool. Buffers fora das classes de tamanho ou excedentes são descartados.
+     *
+     * @param buffer O buffer a ser devolvido.
+     */
+    public static void release(ByteBuffer buffer) {
+        int shift = Integer.numberOfTrailingZeros(buffer.capacity());
+        if (!buffer.isDirect() || Integer.bitCount(buffer.capacity()) != 1 || shift < MIN_SHIFT || shift > MAX_SHIFT) {
+            return;
+        }
+        ConcurrentLinkedQueue<ByteBuffer> pool = pools.get(shift - MIN_SHIFT);
+        if (pool.size() < MAX_PER_CLASS) {
+            pool.offer(buffer);
+        }
+    }
+
+    /**
+     * Calcula a classe de tamanho (expoente de dois) que comporta a capacidade pedida.
+     *
+     * @param capacity A capacidade pedida.
+     * @return O expoente da menor potência de dois que comporta a capacidade.
+     */
+    private static int shiftFor(int capacity) {
+        if (capacity <= 1 << MIN_SHIFT) {
+            return MIN_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gui;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Descompacta os quadros enviados pelo servidor com a flag {@link Transport#FLAG_DEFLATE}.
+ *
+ * A compactação é negociada ao conectar quando a propriedade de sistema {@code fifa.compression} é {@code deflate}
+ * (veja {@link SocketConnection#connect}). Cada quadro compactado é um fluxo deflate completo, sem cabeçalho, iniciado
+ * com o dicionário {@link #DICTIONARY}, que contém os trechos repetidos em todas as respostas; assim até as respostas
+ * pequenas, como as notificações de alteração, ficam menores. O Inflater e o buffer de saída são reaproveitados entre
+ * os quadros, então cada instância deve ser usada por uma única thread, a leitora da conexão.
+ */
+public class FrameInflater {
+    /**
+     * Nome do algoritmo de compactação informado ao servidor na negociação.
+     */
+    public static final String ALGORITHM = "deflate";
+    /**
+     * Dicionário inicial da compactação. Deve ser idêntico ao COMPRESSION_DICTIONARY do servidor.
+     */
+    static final byte[] DICTIONARY = ("{\"payload\":\"\",\"status\":404}{\"payload\":[],\"deleted\":[],\"status\":200,\"version\":\"\"}"
+            + "\"nacionalidade\":\"ITALY\",\"nacionalidade\":\"BRAZIL\",\"nacionalidade\":\"ARGENTINA\",\"nacionalidade\":\"FRANCE\","
+            + "\"nacionalidade\":\"SPAIN\",\"nacionalidade\":\"GERMANY\",\"nacionalidade\":\"ENGLAND\","
+            + "{\"id\":,\"idade\": ,\"nomeJogador\":\"\",\"nacionalidade\":\"\",\"nomeClube\":\"null\"},").getBytes(StandardCharsets.UTF_8);
+    private static final int INITIAL_CAPACITY = 64 * 1024; // Capacidade inicial do buffer de saída
+
+    private final Inflater inflater = new Inflater(true); // Fluxos sem cabeçalho zlib
+    private ByteBuffer output = ByteBuffer.allocate(INITIAL_CAPACITY); // Buffer reaproveitado, ampliado quando necessário
+
+    /**
+     * Verifica se a compactação dos quadros deve ser pedida ao servidor.
+     *
+     * @return true se a propriedade {@code fifa.compression} for {@code deflate}.
+     */
+    public static boolean isEnabled() {
+        return ALGORITHM.equals(System.getProperty("fifa.compression"));
+    }
+
+    /**
+     * Descompacta o conteúdo de um quadro.
+     *
+     * @param payload O conteúdo compactado, do position ao limit.
+     * @return O conteúdo descompactado, válido até a próxima chamada.
+     * @throws DataFormatException Se o conteúdo não for um fluxo deflate completo.
+     */
+    public ByteBuffer inflate(ByteBuffer payload) throws DataFormatException {
+        inflater.reset();
+        inflater.setDictionary(DICTIONARY);
+        inflater.setInput(payload);
+        output.clear();
+        while (!inflater.finished()) {
+            if (!output.hasRemaining()) {
+                output = ByteBuffer.allocate(output.capacity() * 2).put(output.flip());
+            }
+            if (inflater.inflate(output) == 0 && inflater.needsInput()) {
+                throw new DataFormatException("Quadro compactado incompleto");
+            }
+        }
+        return output.flip();
+    }
+}
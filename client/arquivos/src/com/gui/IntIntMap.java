@@ -0,0 +1,166 @@
+package com.gui;
+
+import java.util.Arrays;
+
+/**
+ * Tabela hash de chaves inteiras para valores inteiros não negativos, sem objetos por entrada.
+ *
+ * Usa endereçamento aberto com sondagem linear; a remoção desloca as entradas seguintes do mesmo
+ * agrupamento, de modo que nenhuma marca de remoção é necessária e as buscas continuam curtas.
+ */
+public class IntIntMap {
+    /**
+     * Valor retornado quando a chave não está presente.
+     */
+    public static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys; // Chaves de cada posição
+    private int[] values; // Valores de cada posição; MISSING indica posição livre
+    private int mask; // Máscara para o índice das posições
+    private int size; // Quantidade de entradas
+
+    /**
+     * Cria uma tabela vazia.
+     */
+    public IntIntMap() {
+        this(16);
+    }
+
+    /**
+     * Cria uma tabela com espaço para a quantidade de entradas informada.
+     *
+     * @param expectedSize A quantidade de entradas prevista.
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1));
+    }
+
+    /**
+     * Retorna o valor associado a uma chave.
+     *
+     * @param key A chave procurada.
+     * @return O valor associado, ou {@link #MISSING} se a chave não estiver presente.
+     */
+    public int get(int key) {
+        for (int slot = slot(key); values[slot] != MISSING; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Associa um valor a uma chave, substituindo o valor anterior se existir.
+     *
+     * @param key A chave.
+     * @param value O valor, que deve ser não negativo.
+     */
+    public void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo: " + value);
+        }
+        int slot = slot(key);
+        while (values[slot] != MISSING) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > values.length * LOAD_FACTOR) {
+            rehash(values.length << 1);
+        }
+    }
+
+    /**
+     * Remove uma chave.
+     *
+     * @param key A chave a ser removida.
+     * @return O valor que estava associado, ou {@link #MISSING} se a chave não estava presente.
+     */
+    public int remove(int key) {
+        int slot = slot(key);
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        if (removed == MISSING) {
+            return MISSING;
+        }
+        // Desloca para trás as entradas do agrupamento que dependiam da posição liberada
+        int free = slot;
+        for (int next = (free + 1) & mask; values[next] != MISSING; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        values[free] = MISSING;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    /**
+     * Retorna a quantidade de entradas.
+     *
+     * @return O número de chaves presentes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calcula a posição inicial de uma chave.
+     *
+     * @param key A chave.
+     * @return O índice da posição.
+     */
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Aloca vetores vazios com a capacidade informada.
+     *
+     * @param capacity A capacidade, potência de dois.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Redistribui as entradas em vetores com a nova capacidade.
+     *
+     * @param capacity A nova capacidade, potência de dois.
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package com.gui;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodificador das respostas do servidor que lê os bytes UTF-8 diretamente, em uma única passagem.
+ *
+ * Extrai o status, a mensagem (quando o payload é um texto), os jogadores (quando o payload é uma lista)
+ * e os ids removidos e o arquivo de uma sincronização incremental ou notificação de alteração
+ * sem criar substrings ou vetores intermediários: cada campo é lido do buffer e convertido no seu valor final.
+ * A resposta pode ser entregue em partes; um jogador que fique dividido entre duas partes é guardado
+ * e concluído na parte seguinte.
+ *
+ * O programa de arquivos não escapa aspas dentro dos textos, por isso uma aspa só encerra um texto
+ * quando é seguida por um delimitador ({@code , } ] :}).
+ */
+public class JsonDecoder {
+    private static final byte[] KEY_PAYLOAD = key("payload");
+    private static final byte[] KEY_STATUS = key("status");
+    private static final byte[] KEY_VERSION = key("version");
+    private static final byte[] KEY_DELETED = key("deleted");
+    private static final byte[] KEY_FILE = key("file");
+    private static final byte[] KEY_ID = key("id");
+    private static final byte[] KEY_AGE = key("idade");
+    private static final byte[] KEY_PLAYER_NAME = key("nomeJogador");
+    private static final byte[] KEY_NATIONALITY = key("nacionalidade");
+    private static final byte[] KEY_CLUB_NAME = key("nomeClube");
+    private static final byte[] NULL_VALUE = key("null");
+
+    /**
+     * Sinaliza que a parte atual terminou no meio de um elemento. Não carrega pilha, pois faz parte do fluxo normal.
+     */
+    private static final RuntimeException INCOMPLETE = new RuntimeException("Parte incompleta", null, false, false) {
+    };
+
+    private ByteBuffer buffer; // Parte sendo decodificada
+    private int position; // Posição de leitura absoluta no buffer
+    private int limit; // Fim dos dados no buffer
+    private byte[] carry; // Bytes de um elemento incompleto da parte anterior
+    private char[] chars = new char[64]; // Buffer reaproveitado para montar os textos
+
+    private boolean objectStarted; // Indica se a chave de abertura da resposta já foi lida
+    private boolean inPayloadList; // Indica se a leitura está dentro da lista de jogadores
+    private boolean finished; // Indica se a chave de fechamento da resposta já foi lida
+    private int status = -1; // Código de status da resposta
+    private String message; // Mensagem da resposta, quando o payload é um texto
+    private String version; // Versão do arquivo informada pelo servidor
+    private int[] deletedIds = new int[0]; // Ids removidos informados por uma sincronização incremental
+    private String file; // Arquivo de dados de uma notificação de alteração
+    private List<Player> players = List.of(); // Jogadores decodificados por decode(ByteBuffer)
+
+    /**
+     * Decodifica uma resposta completa.
+     *
+     * @param response Os bytes da resposta.
+     * @return O decodificador, já com o status e a mensagem da resposta.
+     */
+    public static JsonDecoder decode(ByteBuffer response) {
+        JsonDecoder decoder = new JsonDecoder();
+        decoder.players = decoder.feed(response);
+        return decoder;
+    }
+
+    /**
+     * Decodifica mais uma parte da resposta.
+     *
+     * @param part Os bytes da parte, do position ao limit. O buffer não é modificado.
+     * @return Os jogadores completos encontrados nesta parte, na ordem da resposta.
+     */
+    public List<Player> feed(ByteBuffer part) {
+        if (carry != null) {
+            // Junta o elemento incompleto da parte anterior com a nova parte
+            ByteBuffer joined = ByteBuffer.allocate(carry.length + part.remaining());
+            joined.put(carry).put(part.duplicate()).flip();
+            part = joined;
+            carry = null;
+        }
+        buffer = part;
+        position = part.position();
+        limit = part.limit();
+
+        List<Player> decoded = new ArrayList<>();
+        int mark = position; // Início do elemento em leitura
+        try {
+            while (!finished) {
+                mark = position;
+                if (inPayloadList) {
+                    if (!readListElement(decoded)) {
+                        inPayloadList = false;
+                    }
+                } else {
+                    readObjectMember();
+                }
+            }
+        } catch (RuntimeException e) {
+            if (e != INCOMPLETE) {
+                throw e;
+            }
+            // Guarda o elemento incompleto para a próxima parte
+            carry = new byte[limit - mark];
+            buffer.get(mark, carry);
+        }
+        buffer = null;
+        return decoded;
+    }
+
+    /**
+     * Retorna o código de status da resposta.
+     *
+     * @return O código de status, ou -1 se ainda não tiver sido lido.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Retorna a mensagem da resposta.
+     *
+     * @return A mensagem, quando o payload é um texto; caso contrário, null.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Retorna a versão do arquivo de dados em que a resposta foi produzida.
+     *
+     * @return A versão informada pelo servidor, ou null se a resposta não a contiver.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Retorna os ids dos jogadores removidos desde a versão informada em uma sincronização incremental.
+     *
+     * @return Os ids removidos, ou um vetor vazio se a resposta não os contiver.
+     */
+    public int[] getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * Retorna o arquivo de dados a que se refere uma notificação de alteração.
+     *
+     * @return O nome do arquivo, com extensão, ou null se a resposta não o contiver.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Retorna os jogadores de uma resposta decodificada por {@link #decode(ByteBuffer)}.
+     *
+     * @return A lista de jogadores.
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Lê o próximo membro do objeto principal da resposta, ou a sua chave de abertura ou de fechamento.
+     */
+    private void readObjectMember() {
+        byte b = nextToken();
+        if (!objectStarted) {
+            expect(b, '{');
+            objectStarted = true;
+            return;
+        }
+        if (b == ',') {
+            b = nextToken();
+        }
+        if (b == '}') {
+            finished = true;
+            return;
+        }
+        expect(b, '"');
+        int keyStart = position;
+        int keyEnd = skipKey();
+        expect(nextToken(), ':');
+
+        if (matches(keyStart, keyEnd, KEY_PAYLOAD)) {
+            byte value = nextToken();
+            if (value == '[') {
+                inPayloadList = true;
+            } else {
+                position--;
+                message = readString();
+            }
+        } else if (matches(keyStart, keyEnd, KEY_STATUS)) {
+            status = readInt();
+        } else if (matches(keyStart, keyEnd, KEY_VERSION)) {
+            version = readString();
+        } else if (matches(keyStart, keyEnd, KEY_DELETED)) {
+            deletedIds = readIntList();
+        } else if (matches(keyStart, keyEnd, KEY_FILE)) {
+            file = readString();
+        } else {
+            skipValue();
+        }
+    }
+
+    /**
+     * Lê o próximo elemento da lista de jogadores.
+     *
+     * @param decoded A lista que recebe o jogador lido.
+     * @return false se a lista terminou, caso contrário, true.
+     */
+    private boolean readListElement(List<Player> decoded) {
+        byte b = nextToken();
+        if (b == ',') {
+            b = nextToken();
+        }
+        if (b == ']') {
+            return false;
+        }
+        expect(b, '{');
+        decoded.add(readPlayer());
+        return true;
+    }
+
+    /**
+     * Lê um objeto de jogador, a partir da posição seguinte à chave de abertura.
+     *
+     * @return O jogador lido.
+     */
+    private Player readPlayer() {
+        int id = 0;
+        int age = 0;
+        String playerName = "";
+        String nationality = "";
+        String clubName = "";
+
+        byte b = nextToken();
+        while (b != '}') {
+            if (b == ',') {
+                b = nextToken();
+                continue;
+            }
+            expect(b, '"');
+            int keyStart = position;
+            int keyEnd = skipKey();
+            expect(nextToken(), ':');
+
+            if (matches(keyStart, keyEnd, KEY_ID)) {
+                id = readInt();
+            } else if (matches(keyStart, keyEnd, KEY_AGE)) {
+                age = readInt();
+            } else if (matches(keyStart, keyEnd, KEY_PLAYER_NAME)) {
+                playerName = readString();
+            } else if (matches(keyStart, keyEnd, KEY_NATIONALITY)) {
+                nationality = readString();
+            } else if (matches(keyStart, keyEnd, KEY_CLUB_NAME)) {
+                clubName = readString();
+            } else {
+                skipValue();
+            }
+            b = nextToken();
+        }
+        return new Player(id, age, playerName, nationality, clubName);
+    }
+
+    /**
+     * Lê um número inteiro. O texto "null" é lido como 0.
+     *
+     * @return O número lido.
+     */
+    private int readInt() {
+        byte b = nextToken();
+        if (b == '"') {
+            // Valores nulos são enviados como o texto "null"
+            int start = position;
+            int end = skipString();
+            if (matches(start, end, NULL_VALUE)) {
+                return 0;
+            }
+            throw new IllegalArgumentException("Número inválido na posição " + start);
+        }
+        boolean negative = b == '-';
+        if (negative) {
+            b = next();
+        }
+        int value = 0;
+        while (b >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            b = next();
+        }
+        position--;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Lê uma lista de números inteiros.
+     *
+     * @return Os números lidos.
+     */
+    private int[] readIntList() {
+        expect(nextToken(), '[');
+        int[] values = new int[16];
+        int count = 0;
+        byte b = nextToken();
+        while (b != ']') {
+            if (b != ',') {
+                position--;
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = readInt();
+            }
+            b = nextToken();
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Lê um texto, decodificando UTF-8 e sequências de escape. O texto "null" é lido como vazio.
+     *
+     * @return O texto lido.
+     */
+    private String readString() {
+        expect(nextToken(), '"');
+        int start = position;
+        int end = skipString();
+        if (matches(start, end, NULL_VALUE)) {
+            return "";
+        }
+
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            if (chars.length < length + 2) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            int b = buffer.get(i++);
+            if (b >= 0) {
+                if (b == '\\' && i < end) {
+                    i = readEscape(i, length);
+                    length++;
+                    continue;
+                }
+                chars[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0 && i < end) {
+                chars[length++] = (char) (((b & 0x1F) << 6) | (buffer.get(i++) & 0x3F));
+            } else if ((b & 0xF0) == 0xE0 && i + 1 < end) {
+                chars[length++] = (char) (((b & 0x0F) << 12) | ((buffer.get(i) & 0x3F) << 6) | (buffer.get(i + 1) & 0x3F));
+                i += 2;
+            } else if ((b & 0xF8) == 0xF0 && i + 2 < end) {
+                int codePoint = ((b & 0x07) << 18) | ((buffer.get(i) & 0x3F) << 12)
+                        | ((buffer.get(i + 1) & 0x3F) << 6) | (buffer.get(i + 2) & 0x3F);
+                length += Character.toChars(codePoint, chars, length);
+                i += 3;
+            } else {
+                chars[length++] = '\uFFFD';
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Decodifica uma sequência de escape, gravando o caractere resultante no buffer de caracteres.
+     *
+     * @param i A posição seguinte à barra invertida.
+     * @param length A posição de escrita no buffer de caracteres.
+     * @return A posição seguinte à sequência de escape.
+     */
+    private int readEscape(int i, int length) {
+        byte escaped = buffer.get(i++);
+        chars[length] = switch (escaped) {
+            case 'n' -> '\n';
+            case 't' -> '\t';
+            case 'r' -> '\r';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'u' -> {
+                char c = (char) Integer.parseInt(asciiString(i, i + 4), 16);
+                i += 4;
+                yield c;
+            }
+            default -> (char) escaped;
+        };
+        return i;
+    }
+
+    /**
+     * Avança até o fim do texto de uma chave.
+     *
+     * @return A posição da aspa que encerra a chave.
+     */
+    private int skipKey() {
+        while (next() != '"') {
+            // Chaves não contêm aspas nem escapes
+        }
+        return position - 1;
+    }
+
+    /**
+     * Avança até o fim de um texto iniciado na posição atual.
+     *
+     * @return A posição da aspa que encerra o texto.
+     */
+    private int skipString() {
+        while (true) {
+            byte b = next();
+            if (b == '\\') {
+                next();
+            } else if (b == '"' && isDelimiter(peekToken())) {
+                return position - 1;
+            }
+        }
+    }
+
+    /**
+     * Avança sobre um valor que não é usado pelo cliente.
+     */
+    private void skipValue() {
+        byte b = nextToken();
+        if (b == '"') {
+            skipString();
+            return;
+        }
+        while (!isDelimiter(b)) {
+            b = next();
+        }
+        position--;
+    }
+
+    /**
+     * Lê o próximo byte.
+     *
+     * @return O byte lido.
+     */
+    private byte next() {
+        if (position >= limit) {
+            throw INCOMPLETE;
+        }
+        return buffer.get(position++);
+    }
+
+    /**
+     * Lê o próximo byte que não seja espaço em branco.
+     *
+     * @return O byte lido.
+     */
+    private byte nextToken() {
+        byte b;
+        do {
+            b = next();
+        } while (b == ' ' || b == '\n' || b == '\r' || b == '\t');
+        return b;
+    }
+
+    /**
+     * Consulta o próximo byte que não seja espaço em branco, sem avançar a posição de leitura.
+     *
+     * @return O byte consultado.
+     */
+    private byte peekToken() {
+        int saved = position;
+        byte b = nextToken();
+        position = saved;
+        return b;
+    }
+
+    /**
+     * Verifica se o byte encerra um valor.
+     *
+     * @param b O byte a ser verificado.
+     * @return true se for um delimitador, caso contrário, false.
+     */
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '}' || b == ']' || b == ':';
+    }
+
+    /**
+     * Garante que o byte lido é o esperado.
+     *
+     * @param actual O byte lido.
+     * @param expected O byte esperado.
+     */
+    private void expect(byte actual, char expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Esperado '" + expected + "' na posição " + (position - 1) + ", encontrado '" + (char) actual + "'");
+        }
+    }
+
+    /**
+     * Compara um trecho do buffer com uma sequência de bytes.
+     *
+     * @param start O início do trecho.
+     * @param end O fim do trecho (exclusivo).
+     * @param expected A sequência esperada.
+     * @return true se o trecho for igual à sequência, caso contrário, false.
+     */
+    private boolean matches(int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converte um trecho ASCII do buffer em texto.
+     *
+     * @param start O início do trecho.
+     * @param end O fim do trecho (exclusivo).
+     * @return O texto do trecho.
+     */
+    private String asciiString(int start, int end) {
+        if (end > limit) {
+            throw INCOMPLETE;
+        }
+        char[] ascii = new char[end - start];
+        for (int i = start; i < end; i++) {
+            ascii[i - start] = (char) buffer.get(i);
+        }
+        return new String(ascii);
+    }
+
+    /**
+     * Converte o nome de uma chave em bytes ASCII.
+     *
+     * @param name O nome da chave.
+     * @return Os bytes da chave.
+     */
+    private static byte[] key(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+}
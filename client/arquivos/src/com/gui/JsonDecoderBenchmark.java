@@ -0,0 +1,108 @@
+package com.gui;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compara o {@link JsonDecoder} com o {@link JsonParser} na conversão de uma listagem completa de jogadores.
+ *
+ * Uso: {@code java -cp <classes> com.gui.JsonDecoderBenchmark [arquivo-de-resposta.json]}.
+ * Sem argumentos, usa uma resposta sintética com 17.000 jogadores, o tamanho de um ano FIFA.
+ * Para cada decodificador são exibidos o tempo médio e os bytes alocados por resposta.
+ */
+public class JsonDecoderBenchmark {
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    /**
+     * Executa a comparação.
+     *
+     * @param args Opcionalmente, o caminho de um arquivo com uma resposta do servidor.
+     * @throws IOException Se o arquivo de resposta não puder ser lido.
+     */
+    public static void main(String[] args) throws IOException {
+        byte[] response = args.length > 0 ? Files.readAllBytes(Path.of(args[0])) : syntheticResponse(17_000);
+        ByteBuffer heap = ByteBuffer.wrap(response);
+        ByteBuffer direct = ByteBuffer.allocateDirect(response.length).put(response).flip();
+
+        List<Player> expected = JsonParser.parseResponse(new String(response, StandardCharsets.UTF_8)).getPlayerList();
+        if (!expected.equals(JsonDecoder.decode(heap).getPlayers())) {
+            throw new IllegalStateException("Os decodificadores produziram resultados diferentes");
+        }
+        System.out.printf("Resposta: %d bytes, %d jogadores%n", response.length, expected.size());
+
+        run("JsonParser (String + split)", () -> {
+            String json = new String(response, StandardCharsets.UTF_8);
+            return JsonParser.parseResponse(json).getPlayerList().size();
+        });
+        run("JsonDecoder (byte[])", () -> JsonDecoder.decode(heap).getPlayers().size());
+        run("JsonDecoder (ByteBuffer direto)", () -> JsonDecoder.decode(direct).getPlayers().size());
+    }
+
+    /**
+     * Mede o tempo médio e a alocação média de um decodificador.
+     *
+     * @param name O nome exibido no resultado.
+     * @param decoder A decodificação a ser medida; retorna a quantidade de jogadores.
+     */
+    private static void run(String name, Decoder decoder) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += decoder.decode();
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += decoder.decode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-32s %8.2f ms/resposta %10.1f KB alocados/resposta (%d)%n",
+                name, elapsed / 1e6 / MEASURED_ITERATIONS, allocated / 1024.0 / MEASURED_ITERATIONS, sink);
+    }
+
+    /**
+     * Gera uma resposta no formato produzido pelo programa de arquivos.
+     *
+     * @param players A quantidade de jogadores.
+     * @return Os bytes da resposta.
+     */
+    private static byte[] syntheticResponse(int players) {
+        String[] nationalities = {"BRAZIL", "GERMANY", "ARGENTINA", "ESPAÑA", "CÔTE D'IVOIRE"};
+        String[] clubs = {"FC BAYERN MÜNCHEN", "REAL MADRID CF", "SEVILLA FC", "null", "MANCHESTER UNITED"};
+        StringBuilder json = new StringBuilder("{\"payload\":[");
+        for (int i = 0; i < players; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(200000 + i)
+                    .append(",\"idade\": ").append(17 + i % 20)
+                    .append(",\"nomeJogador\":\"J. JOGADOR ").append(i)
+                    .append("\",\"nacionalidade\":\"").append(nationalities[i % nationalities.length])
+                    .append("\",\"nomeClube\":\"").append(clubs[i % clubs.length])
+                    .append("\"}");
+        }
+        json.append("],\"status\":200}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodificação medida pelo benchmark.
+     */
+    private interface Decoder {
+        /**
+         * Decodifica a resposta.
+         *
+         * @return A quantidade de jogadores decodificados.
+         */
+        int decode();
+    }
+}
@@ -44,36 +44,46 @@ public class JsonParser {
 
         // Itera sobre cada string de jogador e converte em um objeto Player
         for (String player : players) {
-            // Divide os dados do jogador em atributos individuais
-            String[] splitPlayerData = player.split(",");
-            // Extrai e converte o ID do jogador
-            int id = Integer.parseInt(splitPlayerData[0].split(":")[1].trim());
-            // Extrai e converte a idade do jogador, verificando se é nulo
-            int idade = checkNullNumber(splitPlayerData[1].split(":")[1].trim());
-            // Extrai e processa o nome do jogador, removendo aspas e verificando se é nulo
-            String nomeJogador = removeQuote(
-                    checkNullString(
-                            splitPlayerData[2].split(":")[1].trim()
-                    )
-            );
-            // Extrai e processa a nacionalidade do jogador, removendo aspas e verificando se é nulo
-            String nacionalidade = removeQuote(
-                    checkNullString(
-                            splitPlayerData[3].split(":")[1].trim()
-                    )
-            );
-            // Extrai e processa o nome do clube do jogador, removendo aspas e verificando se é nulo
-            String nomeClube = removeQuote(
-                    checkNullString(
-                            splitPlayerData[4].split(":")[1].trim()
-                    )
-            );
             // Adiciona o novo objeto Player à lista de jogadores
-            playerList.add(new Player(id, idade, nomeJogador, nacionalidade, nomeClube));
+            playerList.add(parsePlayer(player));
         }
 
         return playerList;
     }
+    /**
+     * Converte os atributos de um único jogador, sem as chaves do objeto JSON, em um objeto Player.
+     *
+     * @param player Os atributos do jogador, no formato "id":1,"idade": 2,...
+     * @return O objeto Player correspondente.
+     */
+    static Player parsePlayer(String player) {
+        // Divide os dados do jogador em atributos individuais
+        String[] splitPlayerData = player.split(",");
+        // Extrai e converte o ID do jogador
+        int id = Integer.parseInt(splitPlayerData[0].split(":")[1].trim());
+        // Extrai e converte a idade do jogador, verificando se é nulo
+        int idade = checkNullNumber(splitPlayerData[1].split(":")[1].trim());
+        // Extrai e processa o nome do jogador, removendo aspas e verificando se é nulo
+        String nomeJogador = removeQuote(
+                checkNullString(
+                        splitPlayerData[2].split(":")[1].trim()
+                )
+        );
+        // Extrai e processa a nacionalidade do jogador, removendo aspas e verificando se é nulo
+        String nacionalidade = removeQuote(
+                checkNullString(
+                        splitPlayerData[3].split(":")[1].trim()
+                )
+        );
+        // Extrai e processa o nome do clube do jogador, removendo aspas e verificando se é nulo
+        String nomeClube = removeQuote(
+                checkNullString(
+                        splitPlayerData[4].split(":")[1].trim()
+                )
+        );
+        return new Player(id, idade, nomeJogador, nacionalidade, nomeClube);
+    }
+
     /**
      * Verifica se uma string é nula e retorna uma string vazia caso seja.
      * 
@@ -205,51 +205,18 @@ public class LeftBar extends JPanel {
     }
 
     /**
-     * Constrói uma consulta para um arquivo específico.
-     * 
-     * @param fileName O nome do arquivo.
-     * @return A consulta construída.
+     * Constrói a busca correspondente aos campos de filtro preenchidos.
+     *
+     * @return A busca, com os filtros normalizados.
+     * @throws NumberFormatException Se o id ou a idade digitados não forem números.
      */
-    static String buildQuery(String fileName) {
-        StringBuilder queryBuilder = new StringBuilder(String.format("3 %s.bin 1\n", fileName));
-        int fieldCount = 0;
-        StringBuilder fieldsBuilder = new StringBuilder();
-
-        if (!idField.getText().trim().isEmpty()) {
-            fieldsBuilder.append("id ").append(idField.getText().trim());
-            fieldCount++;
-        }
-        if (!ageField.getText().trim().isEmpty()) {
-            if (fieldCount > 0) {
-                fieldsBuilder.append(" ");
-            }
-            fieldsBuilder.append("idade ").append(ageField.getText().trim());
-            fieldCount++;
-        }
-        if (!playerNameField.getText().trim().isEmpty()) {
-            if (fieldCount > 0) {
-                fieldsBuilder.append(" ");
-            }
-            fieldsBuilder.append("nomeJogador \"").append(playerNameField.getText().trim()).append("\"");
-            fieldCount++;
-        }
-        if (!nationalityField.getText().trim().isEmpty()) {
-            if (fieldCount > 0) {
-                fieldsBuilder.append(" ");
-            }
-            fieldsBuilder.append("nacionalidade \"").append(nationalityField.getText().trim()).append("\"");
-            fieldCount++;
-        }
-        if (!clubNameField.getText().trim().isEmpty()) {
-            if (fieldCount > 0) {
-                fieldsBuilder.append(" ");
-            }
-            fieldsBuilder.append("nomeClube \"").append(clubNameField.getText().trim()).append("\"");
-            fieldCount++;
-        }
-
-        queryBuilder.append(fieldCount).append(" ").append(fieldsBuilder);
-
-        return queryBuilder.toString();
+    static PlayerQuery buildPlayerQuery() {
+        return PlayerQuery.fromFields(
+                idField.getText(),
+                ageField.getText(),
+                playerNameField.getText(),
+                nationalityField.getText(),
+                clubNameField.getText()
+        );
     }
 }
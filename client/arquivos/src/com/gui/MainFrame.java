@@ -2,12 +2,15 @@ package com.gui;
 
 import javax.sound.sampled.*;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +30,14 @@ public class MainFrame extends JFrame {
     private static final List<String> fifaYears = Arrays.asList("FIFA17", "FIFA18", "FIFA19", "FIFA20", "FIFA21", "FIFA22", "FIFA23");
     static PlayerTable playerTable; // Tabela de jogadores
     private static MainFrame instance; // Instância da janela principal
+    // Lê a listagem completa em páginas, por meio de um cursor no servidor (-Dfifa.paging=true)
+    private static final boolean PAGED_SELECT_ALL = Boolean.getBoolean("fifa.paging");
+    // Diretório dos arquivos de dados do servidor, lidos diretamente pelo cliente nas buscas (-Dfifa.local=<dir>)
+    private static final String LOCAL_DATA_DIR = System.getProperty("fifa.local");
+    private static PlayerIndexFile localIndex; // Índice primário carregado no modo local, recarregado quando é reescrito
+    private static PlayerBitmapIndex localBitmaps; // Índices bitmap do modo local, recriados quando o arquivo é alterado
+    // Cache dos resultados das buscas, limitado ao total de linhas de alguns anos FIFA
+    private static final QueryCache queryCache = new QueryCache(100_000);
 
     /**
      * Construtor da classe MainFrame.
@@ -126,20 +137,32 @@ public class MainFrame extends JFrame {
      */
     public static void handleSocketResponse(String response, Runnable onSuccess, Runnable onNotFound, Runnable onError) {
         int status = ResponseHandler.extractStatus(response); // Extrai o status da resposta
+        handleSocketResponse(status, ResponseHandler.extractMessage(response), onSuccess, onNotFound, onError);
+    }
 
+    /**
+     * Manipula uma resposta do socket cujo status e mensagem já foram decodificados.
+     *
+     * @param status O código de status da resposta.
+     * @param message A mensagem da resposta.
+     * @param onSuccess A ação a ser executada em caso de sucesso.
+     * @param onNotFound A ação a ser executada caso o recurso não seja encontrado.
+     * @param onError A ação a ser executada em caso de erro.
+     */
+    public static void handleSocketResponse(int status, String message, Runnable onSuccess, Runnable onNotFound, Runnable onError) {
         if (status == ResponseHandler.STATUS_OK) {
             SwingUtilities.invokeLater(onSuccess); // Executa a ação de sucesso na thread de eventos do Swing
         } else if (status == ResponseHandler.STATUS_NOT_FOUND) {
             if (onNotFound != null) {
                 SwingUtilities.invokeLater(onNotFound); // Executa a ação de "não encontrado" na thread de eventos do Swing
             } else {
-                ResponseHandler.handleResponse(response); // Manipula a resposta padrão
+                ResponseHandler.handleResponse(status, message); // Manipula a resposta padrão
             }
         } else {
             if (onError != null) {
                 SwingUtilities.invokeLater(onError); // Executa a ação de erro na thread de eventos do Swing
             } else {
-                ResponseHandler.handleResponse(response); // Manipula a resposta padrão
+                ResponseHandler.handleResponse(status, message); // Manipula a resposta padrão
 
             }
         }
@@ -157,6 +180,8 @@ public class MainFrame extends JFrame {
                 new SocketConnection.ResponseCallback() {
                     @Override
                     public void onResponse(String response) {
+                        // O arquivo binário foi recriado, então as buscas guardadas deixam de valer
+                        queryCache.invalidateFile(fileName);
                         // Define as ações a serem executadas em caso de sucesso ou erro
                         Runnable onSuccess = () -> MainFrame.enableComponentsWithFileCreation(fileName);
                         Runnable onError = () -> JOptionPane.showMessageDialog(null, "Arquivo informado não foi encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
@@ -178,16 +203,22 @@ public class MainFrame extends JFrame {
      * @param callback uma função a ser executada após a operação de deleção
      */
     public static void deletePlayer(int playerId, Runnable callback) {
+        String fileName = selectFile;
         // Envia uma mensagem para o servidor para deletar o jogador
         socketConnection.sendMessage(
-                String.format("5 %s.bin %sIndice.bin 1\n1 id %s", selectFile, selectFile, playerId),
+                String.format("5 %s.bin %sIndice.bin 1\n1 id %s", fileName, fileName, playerId),
                 new SocketConnection.ResponseCallback() {
                     @Override
                     public void onResponse(String response) {
                         // Define as ações a serem executadas em caso de "não encontrado" ou erro
                         Runnable onNotFound = () -> JOptionPane.showMessageDialog(null, "Jogador não encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
                         Runnable onError = () -> JOptionPane.showMessageDialog(null, "Falha ao deletar o jogador.", "Erro", JOptionPane.ERROR_MESSAGE);
-                        handleSocketResponse(response, callback, onNotFound, onError);
+                        Runnable onSuccess = () -> {
+                            // Invalida as buscas guardadas que continham o jogador
+                            queryCache.invalidate(fileName, playerId, null);
+                            callback.run();
+                        };
+                        handleSocketResponse(response, onSuccess, onNotFound, onError);
                     }
 
                     @Override
@@ -198,41 +229,118 @@ public class MainFrame extends JFrame {
         );
     }
 
+    /**
+     * Deleta vários jogadores em uma única requisição.
+     *
+     * Os ids são enviados em um único comando DELETE, que o servidor executa com uma só passada pelo
+     * arquivo de dados e uma só regravação do índice.
+     *
+     * @param playerIds os IDs dos jogadores a serem deletados
+     * @param callback uma função a ser executada após a operação de deleção
+     */
+    public static void deletePlayers(int[] playerIds, Runnable callback) {
+        String fileName = selectFile;
+        StringBuilder command = new StringBuilder(String.format("DELETE %s.bin %sIndice.bin\n", fileName, fileName));
+        for (int playerId : playerIds) {
+            command.append(playerId).append(' ');
+        }
+        // Envia uma mensagem para o servidor para deletar os jogadores
+        socketConnection.sendMessage(
+                command.toString(),
+                new SocketConnection.ResponseCallback() {
+                    @Override
+                    public void onResponse(String response) {
+                        Runnable onNotFound = () -> JOptionPane.showMessageDialog(null, "Jogadores não encontrados.", "Erro", JOptionPane.ERROR_MESSAGE);
+                        Runnable onError = () -> JOptionPane.showMessageDialog(null, "Falha ao deletar os jogadores.", "Erro", JOptionPane.ERROR_MESSAGE);
+                        Runnable onSuccess = () -> {
+                            // Invalida as buscas guardadas que continham algum dos jogadores
+                            for (int playerId : playerIds) {
+                                queryCache.invalidate(fileName, playerId, null);
+                            }
+                            callback.run();
+                        };
+                        handleSocketResponse(response, onSuccess, onNotFound, onError);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        JOptionPane.showMessageDialog(null, "Falha ao deletar os jogadores: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+        );
+    }
+
     /**
      * Atualiza um jogador na tabela e no servidor.
      *
+     * A remoção do registro antigo e a inserção do novo são feitas pelo servidor em uma única requisição;
+     * se qualquer etapa falhar, o servidor desfaz a alteração e o jogador permanece como estava.
+     *
      * @param playerToUpdate O jogador a ser atualizado.
      * @param table A tabela onde o jogador está sendo exibido.
      */
     public static void updatePlayer(Player playerToUpdate, JTable table) {
-        // Primeiro deleta o jogador existente
-        deletePlayer(playerToUpdate.getId(), () -> {
-            // Obtém o comando de atualização formatado
-            String updateCommand = getString(playerToUpdate);
-            // Envia uma mensagem para o servidor para atualizar o jogador
-            socketConnection.sendMessage(
-                    updateCommand,
-                    new SocketConnection.ResponseCallback() {
-                        @Override
-                        public void onResponse(String response) {
-                            ResponseHandler.handleResponse(response); // Manipula a resposta do servidor
-                            if (ResponseHandler.extractStatus(response) == ResponseHandler.STATUS_OK) {
-                                // Atualiza a tabela de jogadores na interface gráfica
-                                SwingUtilities.invokeLater(() -> ((PlayerTableModel) table.getModel()).updatePlayer(playerToUpdate));
+        updatePlayers(List.of(playerToUpdate), table);
+    }
+
+    /**
+     * Atualiza vários jogadores na tabela e no servidor em uma única requisição.
+     *
+     * A remoção dos registros antigos e a inserção dos novos são feitas pelo servidor com um comando de cada;
+     * se qualquer etapa falhar, o servidor desfaz a alteração e nenhum jogador é modificado.
+     *
+     * @param playersToUpdate Os jogadores a serem atualizados, com "NULO" nos campos sem valor.
+     * @param table A tabela onde os jogadores estão sendo exibidos.
+     */
+    public static void updatePlayers(List<Player> playersToUpdate, JTable table) {
+        String fileName = selectFile;
+        // Obtém o comando de atualização formatado
+        String updateCommand = getString(playersToUpdate);
+        // Envia uma mensagem para o servidor para atualizar os jogadores
+        socketConnection.sendMessage(
+                updateCommand,
+                new SocketConnection.ResponseCallback() {
+                    @Override
+                    public void onResponse(String response) {
+                        ResponseHandler.handleResponse(response); // Manipula a resposta do servidor
+                        if (ResponseHandler.extractStatus(response) == ResponseHandler.STATUS_OK) {
+                            PlayerTableModel model = (PlayerTableModel) table.getModel();
+                            for (Player playerToUpdate : playersToUpdate) {
+                                // Invalida as buscas guardadas que continham ou passam a conter o jogador alterado
+                                queryCache.invalidate(fileName, playerToUpdate.getId(), PlayerTableModel.withoutNullMarkers(playerToUpdate));
                             }
+                            // Atualiza a tabela de jogadores na interface gráfica
+                            SwingUtilities.invokeLater(() -> playersToUpdate.forEach(model::updatePlayer));
                         }
+                    }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, String.format("Falha em atualizar jogador de id: %s", playerToUpdate.getId()), "Erro", JOptionPane.ERROR_MESSAGE));
-                        }
+                    @Override
+                    public void onFailure(Exception e) {
+                        String message = playersToUpdate.size() == 1
+                                ? String.format("Falha em atualizar jogador de id: %s", playersToUpdate.getFirst().getId())
+                                : String.format("Falha em atualizar %d jogadores", playersToUpdate.size());
+                        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, message, "Erro", JOptionPane.ERROR_MESSAGE));
                     }
-            );
-        });
+                }
+        );
+    }
+
+    /**
+     * Retorna o comando de atualização (UPSERT) com os dados dos jogadores a serem atualizados, um por linha.
+     *
+     * @param playersToUpdate Os jogadores a serem atualizados.
+     * @return Uma string formatada contendo os dados dos jogadores.
+     */
+    private static String getString(List<Player> playersToUpdate) {
+        StringBuilder command = new StringBuilder(String.format("UPSERT %s.bin %sIndice.bin", selectFile, selectFile));
+        for (Player playerToUpdate : playersToUpdate) {
+            command.append('\n').append(getString(playerToUpdate));
+        }
+        return command.toString();
     }
 
     /**
-     * Retorna uma string formatada contendo os dados do jogador a ser atualizado.
+     * Retorna uma string formatada contendo os dados do jogador a ser atualizado, no formato de um registro da inserção.
      *
      * @param playerToUpdate O jogador a ser atualizado.
      * @return Uma string formatada contendo os dados do jogador.
@@ -249,8 +357,7 @@ public class MainFrame extends JFrame {
 
         // Retorna a string formatada contendo os dados do jogador a ser atualizado
         return String.format(
-                "6 %s.bin %sIndice.bin 1\n%s %s %s %s %s",
-                selectFile, selectFile,
+                "%s %s %s %s %s",
                 playerToUpdate.getId(),
                 ageStr,
                 playerNameStr,
@@ -265,34 +372,67 @@ public class MainFrame extends JFrame {
      * @param fileName O nome do arquivo.
      */
     public static void getAllPlayers(String fileName) {
+        if (LOCAL_DATA_DIR != null) {
+            readLocalPlayersIntoTable(fileName, PlayerQuery.ALL, () -> {
+                // Exibe uma mensagem informativa
+                JOptionPane.showMessageDialog(null, "O arquivo não tem nenhum jogador.", "Info", JOptionPane.ERROR_MESSAGE);
+            }, "Falha em obter os jogadores: ");
+            return;
+        }
+        if (PAGED_SELECT_ALL) {
+            // Abre um cursor no servidor e deixa a tabela pedir as páginas à medida que são exibidas
+            getAllPlayersPaged(fileName);
+            return;
+        }
+        requestAllPlayers(fileName);
+    }
+
+    /**
+     * Obtém todos os jogadores do arquivo especificado em uma única resposta do servidor.
+     *
+     * @param fileName O nome do arquivo.
+     */
+    private static void requestAllPlayers(String fileName) {
         // Envia uma mensagem para o servidor para obter todos os jogadores do arquivo especificado
-        socketConnection.sendMessage(
-                String.format("2 %s.bin", fileName),
-                new SocketConnection.ResponseCallback() {
-                    @Override
-                    public void onResponse(String response) {
-                        // Define as ações a serem executadas em caso de sucesso ou "não encontrado"
-                        Runnable onSuccess = () -> {
-                            // Analisa a resposta e atualiza a tabela de jogadores
-                            ResponseDto responseDto = JsonParser.parseResponse(response);
-                            PlayerTable.updateTable(responseDto.getPlayerList());
-                        };
-                        Runnable onNotFound = () -> {
-                            // Atualiza a tabela de jogadores com uma lista vazia e exibe uma mensagem informativa
-                            PlayerTable.updateTable(Collections.emptyList());
-                            JOptionPane.showMessageDialog(null, "O arquivo não tem nenhum jogador.", "Info", JOptionPane.ERROR_MESSAGE);
-                        };
-                        // Manipula a resposta do socket
-                        handleSocketResponse(response, onSuccess, onNotFound, null);
-                    }
+        requestPlayersIntoTable(fileName, PlayerQuery.ALL, String.format("2 %s.bin", fileName), () -> {
+            // Exibe uma mensagem informativa
+            JOptionPane.showMessageDialog(null, "O arquivo não tem nenhum jogador.", "Info", JOptionPane.ERROR_MESSAGE);
+        }, "Falha em obter os jogadores: ");
+    }
 
-                    @Override
-                    public void onFailure(Exception e) {
-                        // Exibe uma mensagem de erro se a obtenção dos jogadores falhar
-                        JOptionPane.showMessageDialog(null, "Falha em obter os jogadores: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-        );
+    /**
+     * Obtém todos os jogadores do arquivo especificado por meio de um cursor no servidor.
+     *
+     * Apenas o total de jogadores é recebido de início; a tabela pede ao servidor somente as páginas exibidas.
+     * Se o servidor descartar o cursor, os jogadores são obtidos em uma única resposta.
+     *
+     * @param fileName O nome do arquivo.
+     */
+    private static void getAllPlayersPaged(String fileName) {
+        socketConnection.openCursor(String.format("2 %s.bin", fileName), new SocketConnection.CursorCallback() {
+            @Override
+            public void onOpen(int cursorId, int totalRows) {
+                PagedPlayerTableModel model = new PagedPlayerTableModel(socketConnection, cursorId, totalRows,
+                        () -> requestAllPlayers(fileName));
+                model.setSearch(fileName, PlayerQuery.ALL);
+                PlayerTable.setModel(model);
+            }
+
+            @Override
+            public void onRejected(int status, String message) {
+                PlayerTable.updateTable(new ArrayList<>());
+                handleSocketResponse(status, message, () -> {}, () -> {
+                    // Exibe uma mensagem informativa
+                    JOptionPane.showMessageDialog(null, "O arquivo não tem nenhum jogador.", "Info", JOptionPane.ERROR_MESSAGE);
+                }, null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                // Exibe uma mensagem de erro se a consulta falhar
+                JOptionPane.showMessageDialog(null, "Falha em obter os jogadores: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     /**
@@ -304,34 +444,279 @@ public class MainFrame extends JFrame {
      * Em caso de falha, exibe uma mensagem de erro com a descrição do erro.
      */
     public static void selectPlayers() {
+        PlayerQuery query;
+        try {
+            query = LeftBar.buildPlayerQuery();
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(null, "O id e a idade devem ser números inteiros.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (LOCAL_DATA_DIR != null) {
+            readLocalPlayersIntoTable(selectFile, query, () -> {
+                // Exibe uma mensagem informativa
+                JOptionPane.showMessageDialog(null, "Nenhum jogador foi encontrado.", "Info", JOptionPane.INFORMATION_MESSAGE);
+            }, "Falha em selecionar os jogadores: ");
+            return;
+        }
         // Envia uma mensagem para o servidor para selecionar os jogadores do arquivo especificado
-        socketConnection.sendMessage(
-                LeftBar.buildQuery(selectFile),
-                new SocketConnection.ResponseCallback() {
-                    @Override
-                    public void onResponse(String response) {
-                        // Define as ações a serem executadas em caso de sucesso ou "não encontrado"
-                        Runnable onSuccess = () -> {
-                            // Analisa a resposta e atualiza a tabela de jogadores
-                            ResponseDto responseDto = JsonParser.parseResponse(response);
-                            PlayerTable.updateTable(responseDto.getPlayerList());
-                        };
-                        Runnable onNotFound = () -> {
-                            // Atualiza a tabela de jogadores com uma lista vazia e exibe uma mensagem informativa
-                            PlayerTable.updateTable(Collections.emptyList());
-                            JOptionPane.showMessageDialog(null, "Nenhum jogador foi encontrado.", "Info", JOptionPane.INFORMATION_MESSAGE);
-                        };
-                        // Manipula a resposta do socket
-                        handleSocketResponse(response, onSuccess, onNotFound, null);
-                    }
+        requestPlayersIntoTable(selectFile, query, query.toCommand(selectFile), () -> {
+            // Exibe uma mensagem informativa
+            JOptionPane.showMessageDialog(null, "Nenhum jogador foi encontrado.", "Info", JOptionPane.INFORMATION_MESSAGE);
+        }, "Falha em selecionar os jogadores: ");
+    }
 
-                    @Override
-                    public void onFailure(Exception e) {
-                        // Exibe uma mensagem de erro se a seleção dos jogadores falhar
-                        JOptionPane.showMessageDialog(null, "Falha em selecionar os jogadores: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Envia uma consulta de jogadores e exibe o resultado em uma nova tabela.
+     *
+     * Se a mesma busca já foi feita no arquivo, o resultado guardado no cache é atualizado apenas com os jogadores
+     * alterados desde a versão do arquivo em que foi respondido (veja {@link #requestChangesIntoTable}). Caso
+     * contrário, a busca é enviada por completo (veja {@link #requestAllPlayersIntoTable}).
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca, usada como chave do cache.
+     * @param command O comando a ser enviado ao servidor.
+     * @param onNotFound A ação a ser executada caso nenhum jogador seja encontrado.
+     * @param failureMessage O prefixo da mensagem de erro exibida em caso de falha.
+     */
+    private static void requestPlayersIntoTable(String fileName, PlayerQuery query, String command, Runnable onNotFound, String failureMessage) {
+        QueryCache.Entry cached = queryCache.get(fileName, query);
+        if (cached == null) {
+            requestAllPlayersIntoTable(fileName, query, command, onNotFound, failureMessage);
+        } else if (cached.version() == null) {
+            // Sem versão não é possível sincronizar; o resultado vale até uma alteração feita por este cliente
+            showCachedPlayers(cached, fileName, query, onNotFound);
+        } else {
+            requestChangesIntoTable(cached, fileName, query, command, onNotFound, failureMessage);
+        }
+    }
+
+    /**
+     * Envia uma consulta de jogadores por completo e exibe o resultado em uma nova tabela.
+     * A resposta é recebida em partes, as linhas são acrescentadas à tabela à medida que chegam e o resultado
+     * completo é guardado no cache com a versão do arquivo em que foi produzido.
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca, usada como chave do cache.
+     * @param command O comando a ser enviado ao servidor.
+     * @param onNotFound A ação a ser executada caso nenhum jogador seja encontrado.
+     * @param failureMessage O prefixo da mensagem de erro exibida em caso de falha.
+     */
+    private static void requestAllPlayersIntoTable(String fileName, PlayerQuery query, String command, Runnable onNotFound, String failureMessage) {
+        long generation = queryCache.getGeneration();
+        // Tabela que será preenchida pelas partes da resposta
+        PlayerTableModel model = new PlayerTableModel(new ArrayList<>());
+        PlayerTable.setModel(model);
+        socketConnection.requestPlayers(command, new SocketConnection.PlayersCallback() {
+            private String version; // Versão do arquivo informada na resposta
+
+            @Override
+            public void onPlayers(List<Player> players) {
+                // Acrescenta as linhas já decodificadas na thread de eventos do Swing
+                SwingUtilities.invokeLater(() -> model.addPlayers(players));
+            }
+
+            @Override
+            public void onVersion(String version) {
+                this.version = version;
+            }
+
+            @Override
+            public void onComplete(int status, String message) {
+                if (status == ResponseHandler.STATUS_OK || status == ResponseHandler.STATUS_NOT_FOUND) {
+                    // Todas as partes já foram acrescentadas ao modelo, que é copiado para o cache
+                    queryCache.put(fileName, query, model.getPlayers().copy(), version, generation);
+                    model.setSearch(fileName, query);
+                }
+                // Manipula o status da resposta; as linhas já foram acrescentadas à tabela
+                handleSocketResponse(status, message, () -> {}, onNotFound, null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                // Exibe uma mensagem de erro se a consulta falhar
+                JOptionPane.showMessageDialog(null, failureMessage + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Atualiza um resultado guardado no cache com as alterações feitas no arquivo desde a versão em que foi
+     * respondido e o exibe em uma nova tabela.
+     *
+     * O servidor envia apenas os jogadores inseridos ou alterados e os ids removidos desde essa versão, que são
+     * aplicados a uma cópia do resultado guardado (veja {@link PlayerTableModel#applyChanges}); o resultado
+     * atualizado volta ao cache com a nova versão. Se o arquivo não mudou, o resultado guardado é exibido como está.
+     * Se o servidor não tiver mais o histórico das alterações desde essa versão, a busca é enviada por completo.
+     *
+     * @param cached O resultado guardado, com a versão do arquivo em que foi respondido.
+     * @param fileName O arquivo consultado.
+     * @param query A busca, usada como chave do cache e para filtrar os jogadores alterados.
+     * @param command O comando da busca completa.
+     * @param onNotFound A ação a ser executada caso nenhum jogador seja encontrado.
+     * @param failureMessage O prefixo da mensagem de erro exibida em caso de falha.
+     */
+    private static void requestChangesIntoTable(QueryCache.Entry cached, String fileName, PlayerQuery query, String command, Runnable onNotFound, String failureMessage) {
+        long generation = queryCache.getGeneration();
+        List<Player> changedPlayers = new ArrayList<>(); // Alterações recebidas, preenchida na thread de eventos
+        socketConnection.requestChanges(fileName, cached.version(), new SocketConnection.PlayersCallback() {
+            private int[] deletedIds = new int[0]; // Ids removidos informados na resposta
+            private String version; // Versão do arquivo informada na resposta
+
+            @Override
+            public void onPlayers(List<Player> players) {
+                SwingUtilities.invokeLater(() -> changedPlayers.addAll(players));
+            }
+
+            @Override
+            public void onDeleted(int[] playerIds) {
+                deletedIds = playerIds;
+            }
+
+            @Override
+            public void onVersion(String version) {
+                this.version = version;
+            }
+
+            @Override
+            public void onComplete(int status, String message) {
+                if (status == ResponseHandler.STATUS_NOT_MODIFIED) {
+                    showCachedPlayers(cached, fileName, query, onNotFound);
+                    return;
+                }
+                if (status != ResponseHandler.STATUS_OK) {
+                    // Histórico indisponível (status 410) ou arquivo recriado: o resultado é buscado novamente
+                    requestAllPlayersIntoTable(fileName, query, command, onNotFound, failureMessage);
+                    return;
+                }
+                PlayerTableModel model = new PlayerTableModel(cached.players());
+                model.applyChanges(changedPlayers, deletedIds, query);
+                queryCache.put(fileName, query, model.getPlayers().copy(), version, generation);
+                model.setSearch(fileName, query);
+                PlayerTable.setModel(model);
+                if (model.getPlayerCount() == 0) {
+                    onNotFound.run();
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                JOptionPane.showMessageDialog(null, failureMessage + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Lê os jogadores de uma busca diretamente do arquivo de dados, sem consultar o servidor, e os exibe em uma nova
+     * tabela.
+     *
+     * O arquivo é mapeado em memória e lido em segundo plano (veja {@link PlayerDataFile}). As buscas por idade,
+     * nacionalidade ou clube são resolvidas pelos índices bitmap do arquivo (veja {@link PlayerBitmapIndex}); as
+     * demais percorrem o arquivo. As alterações continuam sendo enviadas ao servidor, e as notificações de alteração
+     * mantêm a tabela atualizada.
+     *
+     * @param fileName O arquivo consultado, sem extensão.
+     * @param query A busca a ser avaliada.
+     * @param onNotFound A ação a ser executada caso nenhum jogador seja encontrado.
+     * @param failureMessage O prefixo da mensagem de erro exibida em caso de falha.
+     */
+    private static void readLocalPlayersIntoTable(String fileName, PlayerQuery query, Runnable onNotFound, String failureMessage) {
+        Path path = Path.of(LOCAL_DATA_DIR, fileName + ".bin");
+        ClientExecutor.execute(() -> {
+            try (PlayerDataFile dataFile = PlayerDataFile.open(path)) {
+                PlayerColumns players = PlayerBitmapIndex.supports(query)
+                        ? loadLocalBitmaps(path).readPlayers(dataFile, query)
+                        : dataFile.readPlayers(query);
+                SwingUtilities.invokeLater(() -> {
+                    PlayerTableModel model = new PlayerTableModel(players);
+                    model.setSearch(fileName, query);
+                    PlayerTable.setModel(model);
+                    if (players.size() == 0) {
+                        onNotFound.run();
                     }
+                });
+            } catch (IOException | RuntimeException e) {
+                // Exibe uma mensagem de erro se a leitura falhar
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, failureMessage + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE));
+            }
+        });
+    }
+
+    /**
+     * Obtém a versão atual de um jogador exibido na tabela.
+     *
+     * No modo local o id é resolvido pelo índice primário do arquivo selecionado (veja {@link PlayerIndexFile}) e o
+     * registro é lido diretamente do arquivo de dados, sem consultar o servidor. Fora do modo local, ou se o índice
+     * ainda não foi criado ou está sendo reescrito, o jogador da tabela é retornado como está.
+     *
+     * @param player O jogador exibido na tabela.
+     * @return O jogador como está no arquivo, ou null se ele foi removido do arquivo.
+     */
+    public static Player findCurrentPlayer(Player player) {
+        if (LOCAL_DATA_DIR == null || selectFile == null) {
+            return player;
+        }
+        try {
+            long offset = loadLocalIndex(selectFile).find(player.getId());
+            if (offset == -1) {
+                return null;
+            }
+            try (PlayerDataFile dataFile = PlayerDataFile.open(Path.of(LOCAL_DATA_DIR, selectFile + ".bin"))) {
+                Player current = dataFile.readPlayer(offset);
+                if (current == null) {
+                    return null;
                 }
-        );
+                // Um id diferente indica que o índice foi lido no meio de uma alteração
+                return current.getId() == player.getId() ? current : player;
+            }
+        } catch (IOException e) {
+            return player;
+        }
+    }
+
+    /**
+     * Obtém o índice primário de um arquivo no modo local, carregando-o de novo se o servidor o reescreveu.
+     *
+     * @param fileName O arquivo de dados, sem extensão.
+     * @return O índice carregado.
+     * @throws IOException Se o arquivo de índice não existir ou não puder ser lido.
+     */
+    private static synchronized PlayerIndexFile loadLocalIndex(String fileName) throws IOException {
+        Path path = Path.of(LOCAL_DATA_DIR, fileName + "Indice.bin");
+        if (localIndex == null || !localIndex.getPath().equals(path) || !localIndex.isCurrent()) {
+            localIndex = PlayerIndexFile.load(path);
+        }
+        return localIndex;
+    }
+
+    /**
+     * Obtém os índices bitmap de um arquivo no modo local, criando-os de novo se o arquivo foi alterado.
+     *
+     * @param path O caminho do arquivo de dados.
+     * @return Os índices do arquivo.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    private static synchronized PlayerBitmapIndex loadLocalBitmaps(Path path) throws IOException {
+        if (localBitmaps == null || !localBitmaps.getPath().equals(path) || !localBitmaps.isCurrent()) {
+            localBitmaps = PlayerBitmapIndex.build(path);
+        }
+        return localBitmaps;
+    }
+
+    /**
+     * Exibe um resultado guardado no cache em uma nova tabela.
+     *
+     * @param cached O resultado guardado.
+     * @param fileName O arquivo consultado.
+     * @param query A busca que produziu o resultado.
+     * @param onNotFound A ação a ser executada caso o resultado não tenha jogadores.
+     */
+    private static void showCachedPlayers(QueryCache.Entry cached, String fileName, PlayerQuery query, Runnable onNotFound) {
+        PlayerTableModel model = new PlayerTableModel(cached.players());
+        model.setSearch(fileName, query);
+        PlayerTable.setModel(model);
+        if (cached.players().size() == 0) {
+            onNotFound.run();
+        }
     }
 
     /**
@@ -371,16 +756,66 @@ public class MainFrame extends JFrame {
         LeftBar.updateButtonState();
         // Atualiza a barra lateral com o arquivo selecionado
         MainFrame.handleSelectFile(selectFile);
+        // Passa a receber as alterações feitas no arquivo por qualquer cliente
+        socketConnection.subscribe(selectFile, new SocketConnection.ChangeListener() {
+            @Override
+            public void onChange(String fileName, List<Player> changedPlayers, int[] deletedIds) {
+                applyPushedChanges(fileName, changedPlayers, deletedIds);
+            }
+
+            @Override
+            public void onReset(String fileName) {
+                refreshDisplayedPlayers(fileName);
+            }
+        });
+    }
+
+    /**
+     * Aplica à tabela exibida as alterações notificadas pelo servidor, atualizando apenas as linhas afetadas.
+     * A notificação é ignorada se a tabela for de outro arquivo ou se o seu resultado ainda estiver sendo
+     * recebido; nesse caso a própria resposta já inclui as alterações anteriores a ela.
+     *
+     * @param fileName O arquivo alterado.
+     * @param changedPlayers Os dados atuais dos jogadores inseridos ou alterados.
+     * @param deletedIds Os ids dos jogadores removidos.
+     */
+    private static void applyPushedChanges(String fileName, List<Player> changedPlayers, int[] deletedIds) {
+        if (PlayerTable.table == null) {
+            return;
+        }
+        PlayerTableModel model = (PlayerTableModel) PlayerTable.table.getModel();
+        PlayerQuery query = model.getSearchQuery(fileName);
+        if (query != null) {
+            model.applyChanges(changedPlayers, deletedIds, query);
+        }
+    }
+
+    /**
+     * Refaz a busca exibida na tabela depois de uma alteração do arquivo cujos jogadores afetados não são conhecidos.
+     *
+     * @param fileName O arquivo alterado.
+     */
+    private static void refreshDisplayedPlayers(String fileName) {
+        queryCache.invalidateFile(fileName);
+        if (PlayerTable.table == null) {
+            return;
+        }
+        PlayerQuery query = ((PlayerTableModel) PlayerTable.table.getModel()).getSearchQuery(fileName);
+        if (PlayerQuery.ALL.equals(query)) {
+            getAllPlayers(fileName);
+        } else if (query != null) {
+            requestPlayersIntoTable(fileName, query, query.toCommand(fileName), () -> {}, "Falha em atualizar os jogadores: ");
+        }
     }
 
     /**
-     * Reproduz um arquivo de áudio em uma nova thread.
+     * Reproduz um arquivo de áudio em segundo plano.
      *
      * @param audioPatch O caminho do arquivo de áudio a ser reproduzido.
      */
     static void playAudio(String audioPatch) {
-        // Cria uma nova thread para reproduzir o áudio
-        new Thread(() -> {
+        // Reproduz o áudio no executor compartilhado do cliente
+        ClientExecutor.execute(() -> {
             try {
                 // Obtém o arquivo de áudio e cria um fluxo de entrada de áudio
                 File audioFile = new File(Objects.requireNonNull(MainFrame.class.getResource(audioPatch)).getFile());
@@ -392,7 +827,7 @@ public class MainFrame extends JFrame {
             } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
                 e.printStackTrace(); // Exibe a pilha de chamadas em caso de erro
             }
-        }).start();
+        });
     }
 
     /**
@@ -401,8 +836,24 @@ public class MainFrame extends JFrame {
      * @param player O jogador a ser editado.
      */
     public static void onEditButtonClicked(Player player) {
+        Player current = findCurrentPlayer(player);
+        if (current == null) {
+            JOptionPane.showMessageDialog(null, "O jogador não está mais no arquivo.", "Info", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
         // Cria e exibe uma caixa de diálogo para editar as informações do jogador
-        PlayerEditDialog dialog = new PlayerEditDialog(instance, player);
+        PlayerEditDialog dialog = new PlayerEditDialog(instance, current);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Abre uma caixa de diálogo para editar de uma só vez os jogadores selecionados na tabela.
+     *
+     * @param players Os jogadores a serem editados.
+     */
+    public static void onBatchEditRequested(List<Player> players) {
+        // Cria e exibe uma caixa de diálogo para editar os campos comuns dos jogadores
+        PlayerBatchEditDialog dialog = new PlayerBatchEditDialog(instance, players);
         dialog.setVisible(true);
     }
 
@@ -418,7 +869,17 @@ public class MainFrame extends JFrame {
         // Adiciona um listener ao item de menu para exibir a janela de lista de jogadores
         listPlayersMenuItem.addActionListener(this::showPlayersListWindow);
 
+        JMenuItem statisticsMenuItem = new JMenuItem("Estatísticas do Cliente");
+        // Adiciona um listener ao item de menu para exibir as estatísticas de execução do cliente
+        statisticsMenuItem.addActionListener(this::showClientStatistics);
+
+        JMenuItem importMenuItem = new JMenuItem("Importar Jogadores de CSV");
+        // Adiciona um listener ao item de menu para acrescentar os jogadores de um CSV ao arquivo carregado
+        importMenuItem.addActionListener(this::showImportDialog);
+
         optionsMenu.add(listPlayersMenuItem);
+        optionsMenu.add(importMenuItem);
+        optionsMenu.add(statisticsMenuItem);
         menuBar.add(optionsMenu);
 
         setJMenuBar(menuBar); // Define a barra de menu na janela principal
@@ -442,23 +903,79 @@ public class MainFrame extends JFrame {
         getAllPlayersForTextDisplay();
     }
 
+    /**
+     * Pede um arquivo CSV e importa seus jogadores para o arquivo carregado, em lotes, exibindo o progresso.
+     * O arquivo binário não é recriado: os jogadores são acrescentados aos registros existentes.
+     */
+    private void showImportDialog(ActionEvent e) {
+        // Verifica se a conexão do socket está ativa e se um arquivo foi carregado
+        if (socketConnection == null || !socketConnection.isConnected() || selectFile == null) {
+            JOptionPane.showMessageDialog(this, "Primeiro, certifique-se de que um arquivo foi carregado e que a conexão está ativa.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Arquivos CSV", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        String fileName = selectFile;
+        // Os jogadores importados podem aparecer em qualquer busca do arquivo
+        PlayerCsvImporter importer = new PlayerCsvImporter(chooser.getSelectedFile(), fileName, socketConnection,
+                () -> queryCache.invalidateFile(fileName));
+        ProgressMonitor monitor = new ProgressMonitor(this, "Importando " + chooser.getSelectedFile().getName() + " para " + fileName, null, 0, 100);
+        importer.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                monitor.setProgress((Integer) event.getNewValue());
+            }
+            if (monitor.isCanceled()) {
+                importer.cancel(true);
+            }
+            if (importer.isDone()) {
+                monitor.close();
+            }
+        });
+        importer.execute();
+    }
+
+    /**
+     * Exibe as estatísticas de execução do cliente, como as tarefas em fila e em execução no executor compartilhado
+     * o tamanho dos dicionários de nacionalidades e clubes e o uso do cache de buscas.
+     */
+    private void showClientStatistics(ActionEvent e) {
+        String statistics = String.format(
+                "Tarefas em fila: %d\nTarefas em execução: %d\nNacionalidades distintas: %d\nClubes distintos: %d\n"
+                        + "Buscas no cache: %d\nAcertos do cache: %d\nFaltas do cache: %d",
+                ClientExecutor.getQueuedTasks(),
+                ClientExecutor.getActiveTasks(),
+                StringDictionary.NATIONALITIES.size(),
+                StringDictionary.CLUBS.size(),
+                queryCache.size(),
+                queryCache.getHits(),
+                queryCache.getMisses()
+        );
+        JOptionPane.showMessageDialog(this, statistics, "Estatísticas do Cliente", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     /**
      * Obtém todos os jogadores para exibição em formato de texto.
      */
     public static void getAllPlayersForTextDisplay() {
+        List<Player> players = Collections.synchronizedList(new ArrayList<>());
         // Envia uma mensagem para o servidor para obter todos os jogadores do arquivo selecionado
-        socketConnection.sendMessage(
+        socketConnection.requestPlayers(
                 String.format("2 %s.bin", selectFile), // Formata a mensagem com o nome do arquivo selecionado
-                new SocketConnection.ResponseCallback() { // Define o callback para a resposta do servidor
+                new SocketConnection.PlayersCallback() { // Define o callback para a resposta do servidor
                     @Override
-                    public void onResponse(String response) {
-                        // Atualiza a interface gráfica na thread de eventos do Swing
-                        SwingUtilities.invokeLater(() -> {
-                            // Analisa a resposta JSON e obtém a lista de jogadores
-                            ResponseDto responseDto = JsonParser.parseResponse(response);
-                            // Exibe os jogadores em uma janela de texto
-                            displayPlayersInTextWindow(responseDto.getPlayerList());
-                        });
+                    public void onPlayers(List<Player> decoded) {
+                        // Acumula os jogadores decodificados até o fim da resposta
+                        players.addAll(decoded);
+                    }
+
+                    @Override
+                    public void onComplete(int status, String message) {
+                        // Exibe os jogadores em uma janela de texto
+                        handleSocketResponse(status, message, () -> displayPlayersInTextWindow(players), null, null);
                     }
 
                     @Override
@@ -0,0 +1,141 @@
+package com.gui;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Transporte não bloqueante baseado em {@link SocketChannel} e {@link Selector}.
+ *
+ * Os quadros são lidos e escritos em {@link ByteBuffer}s diretos obtidos do {@link DirectBufferPool},
+ * de modo que o conteúdo de uma resposta é lido uma única vez, sem a cópia intermediária que o JDK
+ * faz ao ler um canal para um buffer de heap.
+ */
+public class NioTransport implements Transport {
+    private final SocketChannel channel; // Canal da conexão com o servidor
+    private final Selector readSelector; // Seletor que aguarda dados para leitura
+    private final Selector writeSelector; // Seletor que aguarda espaço para escrita
+    private final ByteBuffer header = ByteBuffer.allocateDirect(HEADER_SIZE); // Cabeçalho reaproveitado na leitura
+    private ByteBuffer writeBuffer = DirectBufferPool.acquire(8192); // Quadros aguardando o próximo flush
+
+    /**
+     * Conecta ao servidor especificado pelo endereço IP e porta.
+     *
+     * @param ip O endereço IP do servidor.
+     * @param port A porta do servidor.
+     * @throws IOException Se a conexão não puder ser estabelecida.
+     */
+    public NioTransport(String ip, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(ip, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.configureBlocking(false);
+        readSelector = Selector.open();
+        writeSelector = Selector.open();
+        channel.register(readSelector, SelectionKey.OP_READ);
+        channel.register(writeSelector, SelectionKey.OP_WRITE);
+        writeBuffer.clear();
+    }
+
+    @Override
+    public void writeFrame(int requestId, int flags, byte[] payload) throws IOException {
+        int required = writeBuffer.position() + HEADER_SIZE + payload.length;
+        if (required > writeBuffer.capacity()) {
+            // Troca por um buffer maior do pool, preservando os quadros já gravados
+            ByteBuffer larger = DirectBufferPool.acquire(required);
+            larger.clear();
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            DirectBufferPool.release(writeBuffer);
+            writeBuffer = larger;
+        }
+        writeBuffer.putInt(payload.length).putInt(requestId).put((byte) flags).put(payload);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                if (channel.write(writeBuffer) == 0) {
+                    // Buffer do socket cheio: aguarda até que seja possível escrever novamente
+                    awaitReady(writeSelector);
+                }
+            }
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+    @Override
+    public void readFrame(FrameHandler handler) throws IOException {
+        header.clear();
+        fill(header);
+        int responseLength = header.getInt(0); // Lê o tamanho da resposta
+        int requestId = header.getInt(4); // Lê o id da requisição respondida
+        int flags = header.get(8) & 0xFF; // Lê as flags do quadro
+
+        ByteBuffer payload = DirectBufferPool.acquire(responseLength);
+        try {
+            fill(payload);
+            payload.flip();
+            handler.onFrame(requestId, flags, payload);
+        } finally {
+            DirectBufferPool.release(payload);
+        }
+    }
+
+    /**
+     * Lê do canal até preencher o espaço restante do buffer.
+     *
+     * @param buffer O buffer a ser preenchido.
+     * @throws IOException Se ocorrer um erro de leitura ou a conexão for encerrada.
+     */
+    private void fill(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                throw new EOFException("Conexão encerrada pelo servidor");
+            }
+            if (read == 0) {
+                awaitReady(readSelector);
+            }
+        }
+    }
+
+    /**
+     * Bloqueia até que o seletor indique o canal como pronto.
+     *
+     * @param selector O seletor a ser aguardado.
+     * @throws IOException Se o seletor falhar.
+     */
+    private void awaitReady(Selector selector) throws IOException {
+        try {
+            selector.select();
+            selector.selectedKeys().clear();
+        } catch (ClosedSelectorException e) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen() && channel.isConnected();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        // Acorda as threads bloqueadas nos seletores para que percebam o fechamento do canal
+        readSelector.wakeup();
+        writeSelector.wakeup();
+        readSelector.close();
+        writeSelector.close();
+    }
+}
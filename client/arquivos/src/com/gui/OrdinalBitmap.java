@@ -0,0 +1,443 @@
+package com.gui;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto imutável de inteiros não negativos, compactado no estilo dos bitmaps "roaring".
+ *
+ * Os valores são agrupados pelos 16 bits mais altos; cada grupo (contêiner) guarda os 16 bits mais baixos de seus
+ * valores em um vetor ordenado de char, enquanto tiver até {@value #ARRAY_MAX_CARDINALITY} valores, ou em um bitmap
+ * de 65536 bits, quando tiver mais. Assim valores esparsos ocupam 2 bytes cada e valores densos, 1 bit cada.
+ *
+ * Os conjuntos são criados por um {@link Builder}, com os valores em ordem crescente, e combinados com
+ * {@link #and}, que intersecta apenas os contêineres presentes nos dois conjuntos, e com {@link #or}, que compartilha
+ * os contêineres presentes em um único conjunto.
+ */
+public final class OrdinalBitmap {
+    private static final int ARRAY_MAX_CARDINALITY = 4096; // Acima disso o contêiner passa a ser um bitmap
+    private static final int BITMAP_WORDS = 1024; // Palavras de 64 bits de um contêiner bitmap (65536 bits)
+    private static final OrdinalBitmap EMPTY = new OrdinalBitmap(new int[0], new char[0][], new long[0][], 0);
+
+    private final int[] keys; // 16 bits mais altos dos valores de cada contêiner, em ordem crescente
+    private final char[][] arrays; // Contêineres em vetor, ou null nas posições de contêineres bitmap
+    private final long[][] bitmaps; // Contêineres bitmap, ou null nas posições de contêineres em vetor
+    private final int cardinality; // Quantidade total de valores
+
+    /**
+     * Cria um conjunto a partir de seus contêineres.
+     *
+     * @param keys Os 16 bits mais altos de cada contêiner.
+     * @param arrays Os contêineres em vetor.
+     * @param bitmaps Os contêineres bitmap.
+     * @param cardinality A quantidade total de valores.
+     */
+    private OrdinalBitmap(int[] keys, char[][] arrays, long[][] bitmaps, int cardinality) {
+        this.keys = keys;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Retorna o conjunto vazio.
+     *
+     * @return Um conjunto sem valores.
+     */
+    public static OrdinalBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Retorna a quantidade de valores do conjunto, sem percorrê-los.
+     *
+     * @return A cardinalidade do conjunto.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Calcula a interseção com outro conjunto.
+     *
+     * @param other O outro conjunto.
+     * @return Um novo conjunto com os valores presentes nos dois.
+     */
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        int capacity = Math.min(keys.length, other.keys.length);
+        int[] resultKeys = new int[capacity];
+        char[][] resultArrays = new char[capacity][];
+        long[][] resultBitmaps = new long[capacity][];
+        int count = 0;
+        int total = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Builder container = new Builder();
+                if (arrays[i] != null && other.arrays[j] != null) {
+                    intersectArrays(arrays[i], other.arrays[j], container);
+                } else if (arrays[i] != null) {
+                    intersectArrayBitmap(arrays[i], other.bitmaps[j], container);
+                } else if (other.arrays[j] != null) {
+                    intersectArrayBitmap(other.arrays[j], bitmaps[i], container);
+                } else {
+                    intersectBitmaps(bitmaps[i], other.bitmaps[j], container);
+                }
+                if (container.size > 0) {
+                    resultKeys[count] = keys[i];
+                    container.storeContainer(resultArrays, resultBitmaps, count);
+                    total += container.size;
+                    count++;
+                }
+                i++;
+                j++;
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new OrdinalBitmap(Arrays.copyOf(resultKeys, count), Arrays.copyOf(resultArrays, count),
+                Arrays.copyOf(resultBitmaps, count), total);
+    }
+
+    /**
+     * Calcula a união com outro conjunto.
+     *
+     * @param other O outro conjunto.
+     * @return Um novo conjunto com os valores presentes em algum dos dois.
+     */
+    public OrdinalBitmap or(OrdinalBitmap other) {
+        if (other.cardinality == 0) {
+            return this;
+        }
+        if (cardinality == 0) {
+            return other;
+        }
+        int capacity = keys.length + other.keys.length;
+        int[] resultKeys = new int[capacity];
+        char[][] resultArrays = new char[capacity][];
+        long[][] resultBitmaps = new long[capacity][];
+        int count = 0;
+        int total = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                // Os contêineres são imutáveis e podem ser compartilhados entre os conjuntos
+                resultKeys[count] = keys[i];
+                resultArrays[count] = arrays[i];
+                resultBitmaps[count] = bitmaps[i];
+                total += containerCardinality(i);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                resultKeys[count] = other.keys[j];
+                resultArrays[count] = other.arrays[j];
+                resultBitmaps[count] = other.bitmaps[j];
+                total += other.containerCardinality(j);
+                j++;
+            } else {
+                Builder container = new Builder();
+                if (arrays[i] != null && other.arrays[j] != null) {
+                    unionArrays(arrays[i], other.arrays[j], container);
+                } else if (arrays[i] != null) {
+                    container.setWords(unionBitmap(other.bitmaps[j], arrays[i], null));
+                } else {
+                    container.setWords(unionBitmap(bitmaps[i], other.arrays[j], other.bitmaps[j]));
+                }
+                resultKeys[count] = keys[i];
+                container.storeContainer(resultArrays, resultBitmaps, count);
+                total += container.size;
+                i++;
+                j++;
+            }
+            count++;
+        }
+        return new OrdinalBitmap(Arrays.copyOf(resultKeys, count), Arrays.copyOf(resultArrays, count),
+                Arrays.copyOf(resultBitmaps, count), total);
+    }
+
+    /**
+     * Percorre os valores do conjunto em ordem crescente.
+     *
+     * @param action A ação executada para cada valor.
+     */
+    public void forEach(IntConsumer action) {
+        for (int c = 0; c < keys.length; c++) {
+            int high = keys[c] << 16;
+            if (arrays[c] != null) {
+                for (char low : arrays[c]) {
+                    action.accept(high | low);
+                }
+            } else {
+                long[] words = bitmaps[c];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retorna os valores do conjunto em ordem crescente.
+     *
+     * @return Um vetor com os valores.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Retorna a quantidade de valores de um contêiner.
+     *
+     * @param container A posição do contêiner.
+     * @return A cardinalidade do contêiner.
+     */
+    private int containerCardinality(int container) {
+        if (arrays[container] != null) {
+            return arrays[container].length;
+        }
+        int size = 0;
+        for (long word : bitmaps[container]) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Une dois contêineres em vetor, percorrendo os dois em ordem.
+     *
+     * @param left O primeiro contêiner.
+     * @param right O segundo contêiner.
+     * @param container O contêiner que recebe os valores de algum dos dois.
+     */
+    private static void unionArrays(char[] left, char[] right, Builder container) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                container.addLow(left[i++]);
+            } else if (i == left.length || left[i] > right[j]) {
+                container.addLow(right[j++]);
+            } else {
+                container.addLow(left[i]);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Une um contêiner bitmap a um contêiner em vetor ou a outro bitmap, sem alterar os contêineres originais.
+     *
+     * @param bitmap O contêiner bitmap.
+     * @param array O outro contêiner, se for um vetor; caso contrário, null.
+     * @param otherBitmap O outro contêiner, se for um bitmap; caso contrário, null.
+     * @return As palavras do contêiner bitmap com os valores de algum dos dois.
+     */
+    private static long[] unionBitmap(long[] bitmap, char[] array, long[] otherBitmap) {
+        long[] words = bitmap.clone();
+        if (otherBitmap != null) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= otherBitmap[w];
+            }
+        } else {
+            for (char low : array) {
+                words[low >>> 6] |= 1L << low;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Intersecta dois contêineres em vetor, percorrendo os dois em ordem.
+     *
+     * @param left O primeiro contêiner.
+     * @param right O segundo contêiner.
+     * @param container O contêiner que recebe os valores comuns.
+     */
+    private static void intersectArrays(char[] left, char[] right, Builder container) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                container.addLow(left[i]);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Intersecta um contêiner em vetor com um contêiner bitmap, testando o bit de cada valor do vetor.
+     *
+     * @param array O contêiner em vetor.
+     * @param bitmap O contêiner bitmap.
+     * @param container O contêiner que recebe os valores comuns.
+     */
+    private static void intersectArrayBitmap(char[] array, long[] bitmap, Builder container) {
+        for (char low : array) {
+            if ((bitmap[low >>> 6] & (1L << low)) != 0) {
+                container.addLow(low);
+            }
+        }
+    }
+
+    /**
+     * Intersecta dois contêineres bitmap, palavra por palavra.
+     *
+     * @param left O primeiro contêiner.
+     * @param right O segundo contêiner.
+     * @param container O contêiner que recebe os valores comuns.
+     */
+    private static void intersectBitmaps(long[] left, long[] right, Builder container) {
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = left[w] & right[w];
+            while (word != 0) {
+                container.addLow((char) ((w << 6) | Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Construtor de um conjunto, que recebe os valores em ordem crescente.
+     * Os valores do contêiner atual são acumulados e compactados quando o próximo contêiner começa.
+     */
+    public static final class Builder {
+        private int[] keys = new int[4]; // Chaves dos contêineres já fechados
+        private char[][] arrays = new char[4][]; // Contêineres em vetor já fechados
+        private long[][] bitmaps = new long[4][]; // Contêineres bitmap já fechados
+        private int count; // Quantidade de contêineres já fechados
+        private int total; // Quantidade de valores dos contêineres já fechados
+
+        private int key = -1; // Chave do contêiner atual
+        private char[] lows = new char[16]; // Valores do contêiner atual enquanto cabem em um vetor
+        private long[] words; // Valores do contêiner atual depois de passar a bitmap
+        private int size; // Quantidade de valores do contêiner atual
+        private int last = -1; // Último valor acrescentado
+
+        /**
+         * Acrescenta um valor, que deve ser maior que todos os já acrescentados.
+         *
+         * @param value O valor.
+         * @throws IllegalArgumentException Se o valor for negativo ou não for maior que o anterior.
+         */
+        public void add(int value) {
+            if (value <= last) {
+                throw new IllegalArgumentException("Os valores devem ser acrescentados em ordem crescente: " + value);
+            }
+            last = value;
+            int high = value >>> 16;
+            if (high != key) {
+                closeContainer();
+                key = high;
+            }
+            addLow((char) value);
+        }
+
+        /**
+         * Cria o conjunto com os valores acrescentados.
+         *
+         * @return O conjunto.
+         */
+        public OrdinalBitmap build() {
+            closeContainer();
+            if (count == 0) {
+                return EMPTY;
+            }
+            return new OrdinalBitmap(Arrays.copyOf(keys, count), Arrays.copyOf(arrays, count),
+                    Arrays.copyOf(bitmaps, count), total);
+        }
+
+        /**
+         * Acrescenta os 16 bits mais baixos de um valor ao contêiner atual, convertendo-o em bitmap quando passa
+         * de {@value #ARRAY_MAX_CARDINALITY} valores.
+         *
+         * @param low Os bits mais baixos do valor.
+         */
+        private void addLow(char low) {
+            if (words != null) {
+                words[low >>> 6] |= 1L << low;
+            } else if (size == ARRAY_MAX_CARDINALITY) {
+                words = new long[BITMAP_WORDS];
+                for (int i = 0; i < size; i++) {
+                    words[lows[i] >>> 6] |= 1L << lows[i];
+                }
+                words[low >>> 6] |= 1L << low;
+            } else {
+                if (size == lows.length) {
+                    lows = Arrays.copyOf(lows, Math.min(lows.length * 2, ARRAY_MAX_CARDINALITY));
+                }
+                lows[size] = low;
+            }
+            size++;
+        }
+
+        /**
+         * Substitui os valores do contêiner atual pelos de um contêiner bitmap já montado.
+         *
+         * @param bitmap As palavras do contêiner bitmap.
+         */
+        private void setWords(long[] bitmap) {
+            words = bitmap;
+            size = 0;
+            for (long word : bitmap) {
+                size += Long.bitCount(word);
+            }
+        }
+
+        /**
+         * Guarda o contêiner atual na posição informada dos vetores de contêineres.
+         *
+         * @param arrays Os contêineres em vetor.
+         * @param bitmaps Os contêineres bitmap.
+         * @param position A posição do contêiner.
+         */
+        private void storeContainer(char[][] arrays, long[][] bitmaps, int position) {
+            if (words != null) {
+                bitmaps[position] = words;
+            } else {
+                arrays[position] = Arrays.copyOf(lows, size);
+            }
+        }
+
+        /**
+         * Fecha o contêiner atual, se tiver valores, e prepara um novo.
+         */
+        private void closeContainer() {
+            if (size == 0) {
+                return;
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                arrays = Arrays.copyOf(arrays, count * 2);
+                bitmaps = Arrays.copyOf(bitmaps, count * 2);
+            }
+            keys[count] = key;
+            storeContainer(arrays, bitmaps, count);
+            total += size;
+            count++;
+            words = null;
+            lows = new char[16];
+            size = 0;
+        }
+    }
+}
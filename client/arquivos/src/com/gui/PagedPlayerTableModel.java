@@ -0,0 +1,408 @@
+package com.gui;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo de tabela que lê os jogadores de um cursor do servidor, página por página.
+ *
+ * Apenas o total de registros é conhecido de início; cada página é pedida na primeira vez que uma de suas
+ * linhas é exibida, e somente as páginas usadas mais recentemente ficam na memória. Assim a memória do cliente
+ * e o tempo de resposta não dependem do tamanho do arquivo (o servidor, por sua vez, guarda o resultado completo
+ * do cursor). Como as linhas não estão todas carregadas, a tabela não pode ser ordenada enquanto exibe este modelo.
+ *
+ * Os jogadores inseridos depois da abertura do cursor são acrescentados após as linhas do cursor. Se o servidor não
+ * tiver mais o cursor (por exemplo, descartado por exceder o limite de cursores da conexão), o modelo deixa de fazer
+ * pedidos e executa uma única vez a ação de cursor perdido, que carrega o resultado de outra forma.
+ */
+public class PagedPlayerTableModel extends PlayerTableModel {
+    /**
+     * Quantidade de jogadores em cada página pedida ao servidor.
+     */
+    public static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 10; // Páginas mantidas na memória
+
+    private final SocketConnection connection; // Conexão onde o cursor foi aberto
+    private final int cursorId; // Id do cursor no servidor
+    private final int totalRows; // Total de registros do cursor
+    private final Runnable onCursorLost; // Ação executada uma única vez se o servidor não tiver mais o cursor
+    private final Map<Integer, PlayerColumns> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PlayerColumns> eldest) {
+            return size() > MAX_CACHED_PAGES; // Descarta a página usada há mais tempo
+        }
+    };
+    private final BitSet pendingPages = new BitSet(); // Páginas pedidas e ainda não recebidas
+    private final IntIntMap removedIds = new IntIntMap(); // Jogadores removidos depois da abertura do cursor
+    private final Map<Integer, Player> updatedPlayers = new HashMap<>(); // Jogadores alterados depois da abertura do cursor
+    private final PlayerColumns appended = new PlayerColumns(16); // Jogadores inseridos depois da abertura do cursor
+    private final IntIntMap appendedRows = new IntIntMap(); // Posição de cada jogador inserido em appended
+    private final Map<Integer, Player> unresolvedPlayers = new HashMap<>(); // Jogadores procurados no cursor; null se removidos
+    private boolean closed;
+    private boolean lost; // O servidor não tem mais o cursor
+
+    /**
+     * Construtor da classe PagedPlayerTableModel.
+     *
+     * @param connection A conexão onde o cursor foi aberto.
+     * @param cursorId O id do cursor no servidor.
+     * @param totalRows O total de registros do cursor.
+     * @param onCursorLost A ação executada, uma única vez, se o servidor não tiver mais o cursor.
+     */
+    public PagedPlayerTableModel(SocketConnection connection, int cursorId, int totalRows, Runnable onCursorLost) {
+        super(new PlayerColumns(1));
+        this.connection = connection;
+        this.cursorId = cursorId;
+        this.totalRows = totalRows;
+        this.onCursorLost = onCursorLost;
+    }
+
+    /**
+     * Retorna a quantidade de linhas da tabela: o total de registros do cursor e os jogadores inseridos depois.
+     *
+     * @return O número de linhas.
+     */
+    @Override
+    public int getRowCount() {
+        return totalRows + appended.size();
+    }
+
+    /**
+     * Retorna a quantidade de jogadores exibidos, sem contar os removidos.
+     *
+     * @return O número de jogadores na tabela.
+     */
+    @Override
+    public int getPlayerCount() {
+        return totalRows - removedIds.size() + appended.size() - appended.getRemovedCount();
+    }
+
+    /**
+     * Retorna o valor de uma célula. Se a página da linha ainda não foi recebida, ela é pedida ao servidor
+     * e a célula fica vazia até a chegada da página.
+     *
+     * @param rowIndex    O índice da linha da célula.
+     * @param columnIndex O índice da coluna da célula.
+     * @return O valor exibido na célula, ou null se a página ainda não foi recebida.
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex >= totalRows) {
+            return getColumnValue(appended, rowIndex - totalRows, columnIndex);
+        }
+        PlayerColumns page = pages.get(rowIndex / PAGE_SIZE);
+        if (page == null) {
+            requestPage(rowIndex / PAGE_SIZE);
+            if (columnIndex < 5) {
+                return null;
+            }
+        }
+        return getColumnValue(page, rowIndex % PAGE_SIZE, columnIndex); // As colunas de ações não dependem da página
+    }
+
+    /**
+     * Obtém o jogador em uma determinada linha da tabela.
+     *
+     * @param rowIndex O índice da linha.
+     * @return O jogador na linha especificada, ou null se a página da linha não estiver carregada.
+     */
+    @Override
+    public Player getPlayerAt(int rowIndex) {
+        if (rowIndex >= totalRows) {
+            return appended.get(rowIndex - totalRows);
+        }
+        PlayerColumns page = pages.get(rowIndex / PAGE_SIZE);
+        return page != null ? page.get(rowIndex % PAGE_SIZE) : null;
+    }
+
+    /**
+     * Verifica se uma linha corresponde a um jogador removido. Linhas de páginas não carregadas nunca são consideradas removidas.
+     *
+     * @param rowIndex O índice da linha no modelo.
+     * @return true se o jogador da linha foi removido.
+     */
+    @Override
+    public boolean isRemoved(int rowIndex) {
+        if (rowIndex >= totalRows) {
+            return appended.isRemoved(rowIndex - totalRows);
+        }
+        PlayerColumns page = pages.get(rowIndex / PAGE_SIZE);
+        return page != null && removedIds.get(page.getId(rowIndex % PAGE_SIZE)) != IntIntMap.MISSING;
+    }
+
+    /**
+     * Acrescenta jogadores depois das linhas do cursor, notificando a inserção de todas as linhas de uma só vez.
+     * Os jogadores já acrescentados são atualizados.
+     *
+     * @param newPlayers Os jogadores a serem acrescentados.
+     */
+    @Override
+    public void addPlayers(List<Player> newPlayers) {
+        int firstRow = getRowCount();
+        for (Player player : newPlayers) {
+            int row = appendedRows.get(player.id());
+            if (row != IntIntMap.MISSING) {
+                updatePlayer(player);
+            } else {
+                appendedRows.put(player.id(), appended.add(player));
+            }
+        }
+        if (getRowCount() > firstRow) {
+            fireTableRowsInserted(firstRow, getRowCount() - 1);
+        }
+    }
+
+    /**
+     * Remove um jogador da tabela pelo seu ID. O cursor do servidor não é alterado; o jogador apenas deixa de ser exibido.
+     *
+     * @param playerId O ID do jogador a ser removido.
+     */
+    @Override
+    public void removePlayerById(int playerId) {
+        if (unresolvedPlayers.containsKey(playerId)) {
+            unresolvedPlayers.put(playerId, null); // Ainda procurado no cursor: deixa de ser acrescentado
+        }
+        int appendedRow = appendedRows.remove(playerId);
+        if (appendedRow != IntIntMap.MISSING) {
+            appended.markRemoved(appendedRow);
+            fireTableRowsUpdated(totalRows + appendedRow, totalRows + appendedRow);
+            return;
+        }
+        removedIds.put(playerId, 0);
+        int row = findLoadedRow(playerId);
+        if (row != -1) {
+            fireTableRowsUpdated(row, row); // O filtro do ordenador passa a ocultar a linha
+        }
+    }
+
+    /**
+     * Remove vários jogadores da tabela.
+     *
+     * @param playerIds Os IDs dos jogadores a serem removidos.
+     */
+    @Override
+    public void removePlayersById(int... playerIds) {
+        for (int playerId : playerIds) {
+            removePlayerById(playerId);
+        }
+    }
+
+    /**
+     * Atualiza as informações de um jogador na tabela. A alteração de um jogador do cursor é guardada e reaplicada se
+     * a página for pedida novamente; um jogador do cursor que havia sido removido volta a ser exibido.
+     *
+     * @param updatedPlayer O jogador atualizado.
+     */
+    @Override
+    public void updatePlayer(Player updatedPlayer) {
+        Player player = withoutNullMarkers(updatedPlayer);
+        int appendedRow = appendedRows.get(player.id());
+        if (appendedRow != IntIntMap.MISSING) {
+            appended.set(appendedRow, player);
+            fireTableRowsUpdated(totalRows + appendedRow, totalRows + appendedRow);
+            return;
+        }
+        updatedPlayers.put(player.id(), player);
+        removedIds.remove(player.id());
+        int row = findLoadedRow(player.id());
+        if (row != -1) {
+            pages.get(row / PAGE_SIZE).set(row % PAGE_SIZE, player);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Aplica as alterações de uma sincronização aos jogadores do cursor: os removidos e os que deixaram de atender
+     * à busca deixam de ser exibidos e os demais são atualizados. Os jogadores que não estão nas páginas carregadas
+     * são procurados no cursor (veja {@link #resolvePlayers}), pois podem ter sido inseridos depois da sua abertura.
+     *
+     * @param changedPlayers Os jogadores inseridos ou alterados.
+     * @param deletedIds Os ids dos jogadores removidos.
+     * @param query A busca que produziu o cursor.
+     */
+    @Override
+    public void applyChanges(List<Player> changedPlayers, int[] deletedIds, PlayerQuery query) {
+        removePlayersById(deletedIds);
+        List<Player> unresolved = new ArrayList<>();
+        for (Player player : changedPlayers) {
+            if (!query.matches(player)) {
+                removePlayerById(player.id());
+            } else if (unresolvedPlayers.containsKey(player.id())) {
+                unresolvedPlayers.put(player.id(), player); // A resposta da procura aplica os dados mais recentes
+            } else if (appendedRows.get(player.id()) != IntIntMap.MISSING || findLoadedRow(player.id()) != -1) {
+                updatePlayer(player);
+            } else {
+                unresolved.add(player);
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            resolvePlayers(unresolved);
+        }
+    }
+
+    /**
+     * Fecha o cursor no servidor e descarta as páginas carregadas.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pages.clear();
+        if (!lost) {
+            connection.closeCursor(cursorId);
+        }
+    }
+
+    /**
+     * Trata a resposta de erro de um pedido ao cursor como perda do cursor: o modelo deixa de fazer pedidos e a ação
+     * de cursor perdido é executada, uma única vez. A mensagem de erro não é exibida, pois repetir o pedido a cada
+     * vez que a tabela é desenhada produziria o mesmo erro.
+     */
+    private void cursorLost() {
+        if (closed || lost) {
+            return;
+        }
+        lost = true;
+        closed = true;
+        onCursorLost.run();
+    }
+
+    /**
+     * Pede uma página ao servidor, se ela ainda não tiver sido pedida.
+     *
+     * @param pageIndex O índice da página.
+     */
+    private void requestPage(int pageIndex) {
+        if (closed || pendingPages.get(pageIndex)) {
+            return;
+        }
+        pendingPages.set(pageIndex);
+
+        int firstRow = pageIndex * PAGE_SIZE;
+        PlayerColumns page = new PlayerColumns(PAGE_SIZE);
+        connection.fetchCursor(cursorId, firstRow, PAGE_SIZE, new SocketConnection.PlayersCallback() {
+            @Override
+            public void onPlayers(List<Player> players) {
+                // A página só é publicada em onComplete, então pode ser preenchida na thread leitora
+                for (Player player : players) {
+                    page.add(player);
+                }
+            }
+
+            @Override
+            public void onComplete(int status, String message) {
+                pendingPages.clear(pageIndex);
+                if (status != ResponseHandler.STATUS_OK) {
+                    cursorLost();
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+                // Reaplica as alterações feitas depois da abertura do cursor
+                for (int row = 0; row < page.size(); row++) {
+                    Player updated = updatedPlayers.get(page.getId(row));
+                    if (updated != null) {
+                        page.set(row, updated);
+                    }
+                }
+                pages.put(pageIndex, page);
+                if (page.size() > 0) {
+                    fireTableRowsUpdated(firstRow, firstRow + page.size() - 1);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                pendingPages.clear(pageIndex);
+            }
+        });
+    }
+
+    /**
+     * Procura no cursor do servidor jogadores alterados que não estão nas páginas carregadas. Os encontrados têm a
+     * alteração guardada para quando a sua página for pedida; os demais foram inseridos depois da abertura do cursor
+     * e são acrescentados após as linhas do cursor. Alterações e remoções recebidas durante a procura são aplicadas
+     * quando a resposta chega.
+     *
+     * @param players Os jogadores alterados.
+     */
+    private void resolvePlayers(List<Player> players) {
+        int[] playerIds = new int[players.size()];
+        for (int i = 0; i < playerIds.length; i++) {
+            playerIds[i] = players.get(i).id();
+            unresolvedPlayers.put(playerIds[i], players.get(i));
+        }
+        IntIntMap found = new IntIntMap(); // Ids presentes no cursor, publicados em onComplete
+        connection.findInCursor(cursorId, playerIds, new SocketConnection.PlayersCallback() {
+            @Override
+            public void onPlayers(List<Player> cursorPlayers) {
+                for (Player player : cursorPlayers) {
+                    found.put(player.id(), 0);
+                }
+            }
+
+            @Override
+            public void onComplete(int status, String message) {
+                if (status == ResponseHandler.STATUS_NOT_FOUND) {
+                    for (int playerId : playerIds) {
+                        unresolvedPlayers.remove(playerId);
+                    }
+                    cursorLost();
+                    return;
+                }
+                List<Player> inserted = new ArrayList<>();
+                for (int playerId : playerIds) {
+                    Player player = unresolvedPlayers.remove(playerId);
+                    if (closed) {
+                        continue;
+                    }
+                    if (status != ResponseHandler.STATUS_OK || found.get(playerId) != IntIntMap.MISSING) {
+                        // Sem resposta da procura, a alteração é guardada como a de um jogador do cursor
+                        if (player != null) {
+                            updatePlayer(player);
+                        }
+                    } else if (player != null) {
+                        inserted.add(player);
+                    } else {
+                        removedIds.remove(playerId); // Removido antes de ser acrescentado; nunca fez parte do cursor
+                    }
+                }
+                if (!inserted.isEmpty()) {
+                    addPlayers(inserted);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                for (int playerId : playerIds) {
+                    Player player = unresolvedPlayers.remove(playerId);
+                    if (player != null && !closed) {
+                        updatePlayer(player);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Procura um jogador nas páginas carregadas.
+     *
+     * @param playerId O ID do jogador.
+     * @return O índice da linha do jogador, ou -1 se ele não estiver em uma página carregada.
+     */
+    private int findLoadedRow(int playerId) {
+        for (Map.Entry<Integer, PlayerColumns> entry : pages.entrySet()) {
+            PlayerColumns page = entry.getValue();
+            for (int row = 0; row < page.size(); row++) {
+                if (page.getId(row) == playerId) {
+                    return entry.getKey() * PAGE_SIZE + row;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,124 @@
+package com.gui;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Esta classe representa um diálogo de edição de vários jogadores ao mesmo tempo.
+ * Os campos preenchidos substituem os valores de todos os jogadores selecionados; os campos em branco
+ * mantêm o valor atual de cada jogador. Todas as alterações são enviadas ao servidor em uma única requisição.
+ */
+public class PlayerBatchEditDialog extends JDialog {
+    private JTextField ageField;
+    private JTextField nationalityField;
+    private JTextField clubNameField;
+    private final List<Player> players; // Jogadores selecionados na tabela
+
+    /**
+     * Construtor que configura o diálogo de edição em lote.
+     *
+     * @param parent A janela principal que será o proprietário deste diálogo.
+     * @param players Os jogadores que serão editados.
+     */
+    public PlayerBatchEditDialog(JFrame parent, List<Player> players) {
+        super(parent, "Editar Jogadores Selecionados", true); // Define o título e o modality
+        this.players = players;
+        setupUI();
+        pack(); // Compacta o layout do diálogo
+        setLocationRelativeTo(parent); // Posiciona o diálogo relativo à janela principal
+        getRootPane().setBorder(new EmptyBorder(0, 10, 10, 10)); // Define uma borda para o conteúdo do diálogo
+    }
+
+    /**
+     * Configura a interface do usuário para editar os jogadores.
+     */
+    private void setupUI() {
+        JPanel filterFields = new JPanel(new GridBagLayout());
+        setPreferredSize(new Dimension(450, 380));
+        filterFields.setBorder(new EmptyBorder(10, 10, 10, 10)); // Aplica uma borda interna para espaçamento
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.fill = GridBagConstraints.HORIZONTAL; // Os componentes ocuparão todo o espaço horizontal
+        gbc.insets = new Insets(5, 0, 5, 0); // Define o espaçamento entre os componentes
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+
+        // Informa quantos jogadores serão alterados
+        filterFields.add(new JLabel(players.size() + " jogadores selecionados. Campos em branco não são alterados."), gbc);
+
+        // Adiciona campo para a idade dos jogadores
+        gbc.gridy++;
+        GUIUtils.FieldPanel ageFieldPanel = GUIUtils.inputField("Idade:", 200, 10, true, 'y');
+        ageField = ageFieldPanel.textField;
+        filterFields.add(ageFieldPanel.panel, gbc);
+
+        // Adiciona campo para a nacionalidade dos jogadores
+        gbc.gridy++;
+        GUIUtils.FieldPanel nationalityFieldPanel = GUIUtils.inputField("Nacionalidade:", 200, 40, false, 'y');
+        nationalityField = nationalityFieldPanel.textField;
+        filterFields.add(nationalityFieldPanel.panel, gbc);
+
+        // Adiciona campo para o nome do clube dos jogadores
+        gbc.gridy++;
+        GUIUtils.FieldPanel clubNameFieldPanel = GUIUtils.inputField("Nome do Clube:", 200, 40, false, 'y');
+        clubNameField = clubNameFieldPanel.textField;
+        filterFields.add(clubNameFieldPanel.panel, gbc);
+
+        // Adiciona botão de salvar e configura a ação ao ser clicado
+        gbc.gridy++;
+        JButton saveButton = new JButton("Salvar");
+        saveButton.addActionListener(e -> {
+            List<Player> updatedPlayers = buildUpdatedPlayers();
+            if (!updatedPlayers.isEmpty()) {
+                MainFrame.updatePlayers(updatedPlayers, PlayerTable.table);
+            }
+            dispose();
+        });
+        filterFields.add(saveButton, gbc);
+
+        gbc.gridy++;
+        JButton cancelButton = new JButton("Cancelar");
+        cancelButton.addActionListener(e -> dispose());
+        filterFields.add(cancelButton, gbc);
+
+        add(filterFields);
+    }
+
+    /**
+     * Aplica os campos preenchidos a cada jogador selecionado.
+     *
+     * @return Os jogadores com os novos valores, com "NULO" nos campos sem valor, ou uma lista vazia se nenhum campo foi preenchido.
+     */
+    private List<Player> buildUpdatedPlayers() {
+        String ageText = ageField.getText().trim();
+        String nationality = nationalityField.getText().trim();
+        String clubName = clubNameField.getText().trim();
+        if (ageText.isEmpty() && nationality.isEmpty() && clubName.isEmpty()) {
+            return List.of();
+        }
+
+        List<Player> updatedPlayers = new ArrayList<>(players.size());
+        for (Player player : players) {
+            updatedPlayers.add(new Player(
+                    player.getId(),
+                    ageText.isEmpty() ? (player.getAge() <= 0 ? -1 : player.getAge()) : Integer.parseInt(ageText),
+                    orNullMarker(player.getPlayerName()),
+                    nationality.isEmpty() ? orNullMarker(player.getNationality()) : nationality,
+                    clubName.isEmpty() ? orNullMarker(player.getClubName()) : clubName
+            ));
+        }
+        return updatedPlayers;
+    }
+
+    /**
+     * Converte um valor vazio exibido na tabela para a marca de campo nulo usada nos comandos.
+     *
+     * @param value O valor exibido.
+     * @return O valor, ou "NULO" se estiver vazio.
+     */
+    private static String orNullMarker(String value) {
+        return value == null || value.isEmpty() ? "NULO" : value;
+    }
+}
@@ -0,0 +1,207 @@
+package com.gui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índices bitmap de um arquivo de dados sobre idade, nacionalidade e nomeClube, campos com poucas centenas de
+ * valores distintos.
+ *
+ * Cada registro não removido recebe um ordinal, a sua posição entre os registros do arquivo, e cada valor de um campo
+ * é associado ao conjunto dos ordinais que o têm (veja {@link OrdinalBitmap}). Uma busca com esses campos é resolvida
+ * pela interseção dos conjuntos dos valores que atendem a cada filtro, cuja cardinalidade já é a quantidade de
+ * jogadores encontrados; somente os registros da interseção são lidos do arquivo, na ordem do arquivo, para avaliar os
+ * demais filtros. Como no programa de arquivos, um filtro de texto é atendido pelos valores que são prefixos do texto
+ * procurado (veja {@link PlayerQuery#textMatches}).
+ *
+ * Os índices são criados com uma passada pelo arquivo e valem enquanto o arquivo não for alterado (veja
+ * {@link #isCurrent()}).
+ */
+public class PlayerBitmapIndex {
+    private final Path path; // Caminho do arquivo de dados
+    private final FileTime lastModified; // Data de modificação do arquivo quando foi indexado
+    private final long size; // Tamanho do arquivo quando foi indexado
+    private final int[] offsets; // Offset do registro de cada ordinal
+    private final Map<Integer, OrdinalBitmap> ages; // Ordinais por idade
+    private final Map<String, OrdinalBitmap> nationalities; // Ordinais por nacionalidade
+    private final Map<String, OrdinalBitmap> clubs; // Ordinais por nome do clube
+
+    /**
+     * Cria os índices a partir dos conjuntos montados.
+     *
+     * @param path O caminho do arquivo de dados.
+     * @param lastModified A data de modificação do arquivo.
+     * @param size O tamanho do arquivo.
+     * @param offsets O offset do registro de cada ordinal.
+     * @param ages Os ordinais por idade.
+     * @param nationalities Os ordinais por nacionalidade.
+     * @param clubs Os ordinais por nome do clube.
+     */
+    private PlayerBitmapIndex(Path path, FileTime lastModified, long size, int[] offsets, Map<Integer, OrdinalBitmap> ages,
+                              Map<String, OrdinalBitmap> nationalities, Map<String, OrdinalBitmap> clubs) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.offsets = offsets;
+        this.ages = ages;
+        this.nationalities = nationalities;
+        this.clubs = clubs;
+    }
+
+    /**
+     * Cria os índices de um arquivo de dados com uma única passada pelos registros.
+     *
+     * @param path O caminho do arquivo de dados.
+     * @return Os índices do arquivo.
+     * @throws IOException Se o arquivo não puder ser lido ou for alterado durante a leitura.
+     */
+    public static PlayerBitmapIndex build(Path path) throws IOException {
+        // A data é lida antes do arquivo: uma alteração durante a leitura faz os índices parecerem desatualizados
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        long size = Files.size(path);
+        try (PlayerDataFile dataFile = PlayerDataFile.open(path)) {
+            int[] offsets = new int[dataFile.getRecordCount()];
+            Map<Integer, OrdinalBitmap.Builder> ages = new HashMap<>();
+            Map<String, OrdinalBitmap.Builder> nationalities = new HashMap<>();
+            Map<String, OrdinalBitmap.Builder> clubs = new HashMap<>();
+
+            int ordinal = 0;
+            PlayerDataFile.Cursor cursor = dataFile.cursor();
+            while (cursor.next()) {
+                if (ordinal == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, Math.max(16, ordinal * 2));
+                }
+                offsets[ordinal] = cursor.offset();
+                ages.computeIfAbsent(cursor.age(), age -> new OrdinalBitmap.Builder()).add(ordinal);
+                nationalities.computeIfAbsent(cursor.nationality(), value -> new OrdinalBitmap.Builder()).add(ordinal);
+                clubs.computeIfAbsent(cursor.clubName(), value -> new OrdinalBitmap.Builder()).add(ordinal);
+                ordinal++;
+            }
+            return new PlayerBitmapIndex(path, lastModified, size, Arrays.copyOf(offsets, ordinal),
+                    buildAll(ages), buildAll(nationalities), buildAll(clubs));
+        } catch (InternalError e) {
+            throw new IOException("O arquivo de dados foi alterado durante a leitura", e);
+        }
+    }
+
+    /**
+     * Verifica se uma busca pode ser resolvida pelos índices, isto é, se filtra idade, nacionalidade ou clube.
+     *
+     * @param query A busca.
+     * @return true se a busca tem algum campo indexado.
+     */
+    public static boolean supports(PlayerQuery query) {
+        return query.age() != -1 || query.nationality() != null || query.clubName() != null;
+    }
+
+    /**
+     * Verifica se o arquivo de dados não foi alterado desde que foi indexado.
+     *
+     * @return true se o arquivo tem a mesma data de modificação e o mesmo tamanho.
+     */
+    public boolean isCurrent() {
+        try {
+            return Files.getLastModifiedTime(path).equals(lastModified) && Files.size(path) == size;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retorna o caminho do arquivo de dados indexado.
+     *
+     * @return O caminho do arquivo.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Calcula os ordinais dos registros que atendem aos filtros indexados de uma busca, intersectando primeiro os
+     * menores conjuntos.
+     *
+     * @param query A busca, com ao menos um campo indexado (veja {@link #supports}).
+     * @return Os ordinais encontrados; a cardinalidade é a quantidade de jogadores, se a busca não filtrar id ou nome.
+     */
+    public OrdinalBitmap select(PlayerQuery query) {
+        OrdinalBitmap result = null;
+        OrdinalBitmap[] filters = {
+                query.age() != -1 ? ages.getOrDefault(query.age(), OrdinalBitmap.empty()) : null,
+                query.nationality() != null ? matching(nationalities, query.nationality()) : null,
+                query.clubName() != null ? matching(clubs, query.clubName()) : null
+        };
+        Arrays.sort(filters, Comparator.nullsLast(Comparator.comparingInt(OrdinalBitmap::cardinality)));
+        for (OrdinalBitmap filter : filters) {
+            if (filter != null) {
+                result = result == null ? filter : result.and(filter);
+            }
+        }
+        if (result == null) {
+            throw new IllegalArgumentException("A busca não tem campos indexados");
+        }
+        return result;
+    }
+
+    /**
+     * Lê os jogadores que atendem a uma busca, a partir dos ordinais selecionados pelos índices.
+     *
+     * @param dataFile O arquivo de dados indexado, mapeado em memória.
+     * @param query A busca, com ao menos um campo indexado (veja {@link #supports}).
+     * @return As colunas com os jogadores encontrados, na ordem do arquivo.
+     * @throws IOException Se o arquivo for alterado durante a leitura.
+     */
+    public PlayerColumns readPlayers(PlayerDataFile dataFile, PlayerQuery query) throws IOException {
+        OrdinalBitmap selected = select(query);
+        PlayerColumns players = new PlayerColumns(selected.cardinality());
+        try {
+            for (int ordinal : selected.toArray()) {
+                Player player = dataFile.readPlayer(offsets[ordinal]);
+                // O id e o nome não são indexados e são comparados registro a registro
+                if (player != null && query.matches(player)) {
+                    players.add(player);
+                }
+            }
+        } catch (InternalError e) {
+            throw new IOException("O arquivo de dados foi alterado durante a leitura", e);
+        }
+        return players;
+    }
+
+    /**
+     * Reúne os conjuntos dos valores de um campo que atendem a um filtro de texto, isto é, os conjuntos de cada prefixo
+     * não vazio do texto procurado.
+     *
+     * @param bitmaps Os conjuntos de ordinais por valor do campo.
+     * @param text O texto procurado.
+     * @return A união dos conjuntos.
+     */
+    private static OrdinalBitmap matching(Map<String, OrdinalBitmap> bitmaps, String text) {
+        OrdinalBitmap result = OrdinalBitmap.empty();
+        for (int length = 1; length <= text.length(); length++) {
+            OrdinalBitmap bitmap = bitmaps.get(text.substring(0, length));
+            if (bitmap != null) {
+                result = result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cria os conjuntos de ordinais de cada valor de um campo.
+     *
+     * @param builders Os construtores dos conjuntos, por valor.
+     * @param <K> O tipo dos valores do campo.
+     * @return Os conjuntos, por valor.
+     */
+    private static <K> Map<K, OrdinalBitmap> buildAll(Map<K, OrdinalBitmap.Builder> builders) {
+        Map<K, OrdinalBitmap> bitmaps = new HashMap<>(builders.size() * 2);
+        builders.forEach((value, builder) -> bitmaps.put(value, builder.build()));
+        return bitmaps;
+    }
+}
@@ -0,0 +1,276 @@
+package com.gui;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Armazena um resultado de jogadores em colunas.
+ *
+ * Id e idade ficam em vetores de inteiros primitivos, e nacionalidade e clube são guardados como
+ * códigos dos dicionários compartilhados {@link StringDictionary#NATIONALITIES} e {@link StringDictionary#CLUBS}.
+ * Assim vários anos podem ficar carregados ao mesmo tempo sem repetir os mesmos textos em cada linha.
+ */
+public class PlayerColumns {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] ids; // Coluna de ids
+    private int[] ages; // Coluna de idades
+    private String[] playerNames; // Coluna de nomes dos jogadores
+    private int[] nationalityCodes; // Coluna de códigos de nacionalidade
+    private int[] clubCodes; // Coluna de códigos de clube
+    private final BitSet removed = new BitSet(); // Linhas marcadas como removidas
+    private int size; // Quantidade de linhas, incluindo as removidas
+
+    /**
+     * Cria um conjunto de colunas vazio.
+     */
+    public PlayerColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Cria um conjunto de colunas vazio com a capacidade inicial informada.
+     *
+     * @param capacity A quantidade de linhas reservada inicialmente.
+     */
+    public PlayerColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        ages = new int[capacity];
+        playerNames = new String[capacity];
+        nationalityCodes = new int[capacity];
+        clubCodes = new int[capacity];
+    }
+
+    /**
+     * Cria um conjunto de colunas com os jogadores informados.
+     *
+     * @param players Os jogadores a serem armazenados.
+     * @return As colunas preenchidas.
+     */
+    public static PlayerColumns of(List<Player> players) {
+        PlayerColumns columns = new PlayerColumns(players.size());
+        for (Player player : players) {
+            columns.add(player);
+        }
+        return columns;
+    }
+
+    /**
+     * Cria uma cópia independente das colunas, com as mesmas linhas e marcas de remoção.
+     *
+     * @return A cópia das colunas.
+     */
+    public PlayerColumns copy() {
+        PlayerColumns copy = new PlayerColumns(size);
+        System.arraycopy(ids, 0, copy.ids, 0, size);
+        System.arraycopy(ages, 0, copy.ages, 0, size);
+        System.arraycopy(playerNames, 0, copy.playerNames, 0, size);
+        System.arraycopy(nationalityCodes, 0, copy.nationalityCodes, 0, size);
+        System.arraycopy(clubCodes, 0, copy.clubCodes, 0, size);
+        copy.removed.or(removed);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Verifica se as colunas contêm um jogador, incluindo as linhas marcadas como removidas.
+     *
+     * @param playerId O id do jogador.
+     * @return true se alguma linha tiver o id informado.
+     */
+    public boolean containsId(int playerId) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == playerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Acrescenta um jogador ao final das colunas.
+     *
+     * @param player O jogador a ser acrescentado.
+     * @return O índice da linha criada.
+     */
+    public int add(Player player) {
+        if (size == ids.length) {
+            grow();
+        }
+        set(size, player);
+        return size++;
+    }
+
+    /**
+     * Substitui os dados de uma linha.
+     *
+     * @param row O índice da linha.
+     * @param player O jogador com os novos dados.
+     */
+    public void set(int row, Player player) {
+        ids[row] = player.id();
+        ages[row] = player.age();
+        playerNames[row] = player.playerName();
+        nationalityCodes[row] = StringDictionary.NATIONALITIES.encode(player.nationality());
+        clubCodes[row] = StringDictionary.CLUBS.encode(player.clubName());
+    }
+
+    /**
+     * Marca uma linha como removida, sem deslocar as seguintes.
+     * A linha continua ocupando seu índice até a próxima chamada de {@link #compact()}.
+     *
+     * @param row O índice da linha.
+     * @return true se a linha ainda não estava removida.
+     */
+    public boolean markRemoved(int row) {
+        if (removed.get(row)) {
+            return false;
+        }
+        removed.set(row);
+        return true;
+    }
+
+    /**
+     * Verifica se uma linha foi marcada como removida.
+     *
+     * @param row O índice da linha.
+     * @return true se a linha estiver removida.
+     */
+    public boolean isRemoved(int row) {
+        return removed.get(row);
+    }
+
+    /**
+     * Retorna a quantidade de linhas marcadas como removidas.
+     *
+     * @return O número de linhas removidas ainda não compactadas.
+     */
+    public int getRemovedCount() {
+        return removed.cardinality();
+    }
+
+    /**
+     * Descarta as linhas removidas, movendo as restantes para o início das colunas sem alterar a ordem.
+     */
+    public void compact() {
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (!removed.get(row)) {
+                if (target != row) {
+                    ids[target] = ids[row];
+                    ages[target] = ages[row];
+                    playerNames[target] = playerNames[row];
+                    nationalityCodes[target] = nationalityCodes[row];
+                    clubCodes[target] = clubCodes[row];
+                }
+                target++;
+            }
+        }
+        Arrays.fill(playerNames, target, size, null);
+        size = target;
+        removed.clear();
+    }
+
+    /**
+     * Monta o jogador de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O jogador correspondente.
+     */
+    public Player get(int row) {
+        return new Player(ids[row], ages[row], playerNames[row], getNationality(row), getClubName(row));
+    }
+
+    /**
+     * Retorna a quantidade de linhas, incluindo as marcadas como removidas.
+     *
+     * @return O número de linhas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna o id de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O id do jogador.
+     */
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Retorna a idade de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return A idade do jogador.
+     */
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    /**
+     * Retorna o nome do jogador de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O nome do jogador.
+     */
+    public String getPlayerName(int row) {
+        return playerNames[row];
+    }
+
+    /**
+     * Retorna a nacionalidade de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return A nacionalidade do jogador.
+     */
+    public String getNationality(int row) {
+        return StringDictionary.NATIONALITIES.decode(nationalityCodes[row]);
+    }
+
+    /**
+     * Retorna o código de nacionalidade de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O código da nacionalidade no dicionário compartilhado.
+     */
+    public int getNationalityCode(int row) {
+        return nationalityCodes[row];
+    }
+
+    /**
+     * Retorna o nome do clube de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O nome do clube do jogador.
+     */
+    public String getClubName(int row) {
+        return StringDictionary.CLUBS.decode(clubCodes[row]);
+    }
+
+    /**
+     * Retorna o código de clube de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O código do clube no dicionário compartilhado.
+     */
+    public int getClubCode(int row) {
+        return clubCodes[row];
+    }
+
+    /**
+     * Dobra a capacidade das colunas.
+     */
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        playerNames = Arrays.copyOf(playerNames, capacity);
+        nationalityCodes = Arrays.copyOf(nationalityCodes, capacity);
+        clubCodes = Arrays.copyOf(clubCodes, capacity);
+    }
+}
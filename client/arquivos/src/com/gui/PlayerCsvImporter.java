@@ -0,0 +1,301 @@
+package com.gui;
+
+import javax.swing.*;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Importa jogadores de um arquivo CSV para um arquivo binário já existente, sem recriá-lo.
+ *
+ * Uma tarefa do {@link ClientExecutor} lê o CSV e monta lotes de registros, que são colocados em uma fila limitada;
+ * o SwingWorker retira os lotes e envia cada um em um único comando de inserção (funcionalidade 6). Assim a leitura
+ * do próximo lote acontece enquanto o servidor insere o anterior, a memória usada não depende do tamanho do CSV e
+ * o progresso é publicado sem bloquear a thread de eventos.
+ *
+ * O CSV deve ter as colunas id, idade, nomeJogador, nacionalidade e nomeClube, no mesmo formato dos arquivos
+ * usados para criar os binários; campos vazios são gravados como nulos. Linhas inválidas são ignoradas e contadas.
+ *
+ * O programa de arquivos ignora os registros cujo id já existe no arquivo e responde a inserção com sucesso, sem
+ * informar quantos registros gravou; por isso o resultado informa os registros enviados, e não os gravados.
+ */
+public class PlayerCsvImporter extends SwingWorker<Integer, Void> {
+    /**
+     * Quantidade de registros enviados em cada comando de inserção.
+     */
+    public static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 4; // Lotes lidos aguardando envio
+    private static final Batch END = new Batch(List.of(), 0); // Marca o fim da leitura
+
+    private final File csvFile; // Arquivo CSV importado
+    private final String fileName; // Arquivo binário de destino, sem extensão
+    private final SocketConnection connection; // Conexão usada para enviar os lotes
+    private final Runnable onInserted; // Executado ao final se algum lote foi aceito
+    private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile boolean stopped; // Indica que o envio foi interrompido e a leitura deve parar
+    private volatile int skippedRows; // Linhas inválidas ignoradas
+    private volatile IOException readError; // Erro de leitura do CSV, se houver
+    private volatile int sentRows; // Registros dos lotes aceitos pelo servidor, incluindo ids já existentes
+
+    /**
+     * Construtor da classe PlayerCsvImporter.
+     *
+     * @param csvFile O arquivo CSV a ser importado.
+     * @param fileName O nome do arquivo binário de destino, sem extensão.
+     * @param connection A conexão com o servidor.
+     * @param onInserted Ação executada na thread de eventos ao final, se algum lote foi aceito pelo servidor.
+     */
+    public PlayerCsvImporter(File csvFile, String fileName, SocketConnection connection, Runnable onInserted) {
+        this.csvFile = csvFile;
+        this.fileName = fileName;
+        this.connection = connection;
+        this.onInserted = onInserted;
+    }
+
+    /**
+     * Envia os lotes lidos do CSV ao servidor, um comando de inserção por lote, atualizando o progresso
+     * pela quantidade de bytes do CSV já enviados.
+     *
+     * @return A quantidade de registros enviados nos lotes aceitos.
+     * @throws Exception Se a leitura do CSV ou o envio de algum lote falhar.
+     */
+    @Override
+    protected Integer doInBackground() throws Exception {
+        long totalBytes = Math.max(1, csvFile.length());
+        ClientExecutor.execute(this::readBatches);
+        try {
+            for (Batch batch = queue.take(); batch != END; batch = queue.take()) {
+                String response = send(batch.records());
+                if (ResponseHandler.extractStatus(response) != ResponseHandler.STATUS_OK) {
+                    throw new IOException(ResponseHandler.extractMessage(response));
+                }
+                sentRows += batch.records().size();
+                setProgress((int) Math.min(100, batch.bytesRead() * 100 / totalBytes));
+            }
+            if (readError != null) {
+                throw readError;
+            }
+            return sentRows;
+        } finally {
+            // Libera a tarefa de leitura caso o envio tenha sido interrompido
+            stopped = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * Informa o resultado da importação e executa a ação de conclusão se algum lote foi aceito.
+     */
+    @Override
+    protected void done() {
+        if (sentRows > 0) {
+            onInserted.run();
+        }
+        String summary = String.format("%d jogadores enviados para inserção (ids já existentes no arquivo são ignorados); "
+                + "%d linhas inválidas ignoradas.", sentRows, skippedRows);
+        if (isCancelled()) {
+            JOptionPane.showMessageDialog(null, "Importação cancelada. " + summary, "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        try {
+            get();
+            JOptionPane.showMessageDialog(null, summary, "Importação concluída", JOptionPane.INFORMATION_MESSAGE);
+        } catch (InterruptedException | ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            JOptionPane.showMessageDialog(null, "Falha na importação: " + cause.getMessage() + "\n" + summary, "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Envia um lote em um único comando de inserção e aguarda a resposta.
+     *
+     * @param records Os registros do lote, no formato da inserção.
+     * @return A resposta do servidor.
+     * @throws Exception Se a conexão falhar ou a espera for interrompida.
+     */
+    private String send(List<String> records) throws Exception {
+        StringBuilder command = new StringBuilder(String.format("6 %s.bin %sIndice.bin %d", fileName, fileName, records.size()));
+        for (String record : records) {
+            command.append('\n').append(record);
+        }
+        CompletableFuture<String> response = new CompletableFuture<>();
+        connection.sendMessage(command.toString(), new SocketConnection.ResponseCallback() {
+            @Override
+            public void onResponse(String message) {
+                response.complete(message);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                response.completeExceptionally(e);
+            }
+        });
+        try {
+            return response.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Lê o CSV e coloca os lotes na fila, bloqueando enquanto ela estiver cheia.
+     */
+    private void readBatches() {
+        try {
+            try (CountingInputStream input = new CountingInputStream(new FileInputStream(csvFile));
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                List<String> records = new ArrayList<>(BATCH_SIZE);
+                boolean firstLine = true;
+                String line;
+                while (!stopped && (line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    String record = toInsertRecord(line);
+                    if (record != null) {
+                        records.add(record);
+                    } else if (!firstLine) {
+                        skippedRows++; // Somente a primeira linha pode ser o cabeçalho
+                    }
+                    firstLine = false;
+                    if (records.size() == BATCH_SIZE) {
+                        queue.put(new Batch(records, input.getCount()));
+                        records = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                if (!records.isEmpty() && !stopped) {
+                    queue.put(new Batch(records, input.getCount()));
+                }
+            } catch (IOException e) {
+                readError = e;
+            }
+            // Depois de uma interrupção o consumidor esvazia a fila, então a inserção não fica bloqueada
+            if (!stopped) {
+                queue.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Converte uma linha do CSV para o formato de registro da inserção.
+     *
+     * @param line A linha do CSV.
+     * @return O registro, como {@code id idade "nome" "nacionalidade" "clube"} com NULO nos campos vazios,
+     * ou null se a linha for inválida.
+     */
+    static String toInsertRecord(String line) {
+        List<String> fields = splitCsvLine(line);
+        if (fields == null || fields.size() != 5) {
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(fields.get(0).trim());
+            String age = fields.get(1).trim();
+            int ageValue = age.isEmpty() ? -1 : Integer.parseInt(age);
+            StringBuilder record = new StringBuilder().append(id).append(' ').append(ageValue);
+            for (int i = 2; i < 5; i++) {
+                String value = fields.get(i).trim();
+                // O programa de arquivos delimita os textos por aspas, então elas não podem aparecer no valor
+                if (value.indexOf('"') != -1) {
+                    return null;
+                }
+                record.append(' ').append(value.isEmpty() ? "NULO" : '"' + value + '"');
+            }
+            return record.toString();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Separa os campos de uma linha CSV, aceitando campos entre aspas com vírgulas e aspas duplicadas.
+     *
+     * @param line A linha do CSV.
+     * @return Os campos da linha, ou null se houver aspas sem fechamento.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Lote de registros lidos do CSV.
+     *
+     * @param records Os registros no formato da inserção.
+     * @param bytesRead A quantidade de bytes do CSV lidos até o fim do lote.
+     */
+    private record Batch(List<String> records, long bytesRead) {
+    }
+
+    /**
+     * Fluxo de entrada que conta os bytes lidos, usado para calcular o progresso.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count; // Bytes lidos do arquivo
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
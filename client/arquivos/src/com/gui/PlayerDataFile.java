@@ -0,0 +1,433 @@
+package com.gui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Leitor dos arquivos de dados (.bin) do programa de arquivos, mapeados em memória com {@link FileChannel#map}.
+ *
+ * O arquivo é little-endian. O cabeçalho tem o status ('0' inconsistente, '1' consistente), o topo da lista de
+ * espaços livres (long), o proxByteOffset (long), o nroRegArq (int) e o nroRegRem (int). Cada registro tem o
+ * campo removido ('0' ou '1'), o tamanhoRegistro (int), o prox (long), o id (int), a idade (int) e três textos
+ * (nomeJogador, nacionalidade e nomeClube), cada um com o tamanho (int) seguido dos bytes UTF-8; textos nulos
+ * têm tamanho 0. Registros reaproveitados podem ter bytes de preenchimento, por isso a leitura avança pelo
+ * tamanhoRegistro.
+ *
+ * Os registros são percorridos por um {@link Cursor}, que lê os campos diretamente do mapeamento: o id e a idade
+ * não são copiados e os textos só são decodificados quando pedidos. As buscas dividem o arquivo em trechos alinhados
+ * aos registros, percorridos em paralelo (veja {@link PlayerScanner}). O arquivo deve ser lido na mesma máquina do
+ * servidor; uma alteração feita pelo servidor durante a leitura é informada como {@link IOException}.
+ */
+public class PlayerDataFile implements Closeable {
+    /**
+     * Tamanho do cabeçalho do arquivo, em bytes.
+     */
+    public static final int HEADER_SIZE = 25;
+    private static final int RECORD_HEADER_SIZE = 17; // removido, tamanhoRegistro, prox e id
+    private static final byte CONSISTENT = '1'; // Status de um arquivo que não está sendo alterado
+    private static final byte REMOVED = '1'; // Valor do campo removido de um registro removido
+
+    private final FileChannel channel; // Canal do arquivo mapeado
+    private final MappedByteBuffer buffer; // Conteúdo do arquivo, em little-endian
+    private final int endOffset; // Fim da área de registros (proxByteOffset)
+    private final int recordCount; // Quantidade de registros não removidos (nroRegArq)
+    private final int removedCount; // Quantidade de registros removidos ainda no arquivo (nroRegRem)
+
+    /**
+     * Mapeia um arquivo de dados e valida o seu cabeçalho.
+     *
+     * @param channel O canal do arquivo, fechado junto com o leitor.
+     * @throws IOException Se o arquivo não puder ser mapeado ou estiver inconsistente.
+     */
+    private PlayerDataFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new IOException("Tamanho de arquivo de dados inválido: " + size + " bytes");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.get(0) != CONSISTENT) {
+            throw new IOException("O arquivo de dados está inconsistente");
+        }
+        long proxByteOffset = buffer.getLong(9);
+        if (proxByteOffset < HEADER_SIZE || proxByteOffset > size) {
+            throw new IOException("Cabeçalho do arquivo de dados inválido");
+        }
+        endOffset = (int) proxByteOffset;
+        recordCount = buffer.getInt(17);
+        removedCount = buffer.getInt(21);
+    }
+
+    /**
+     * Abre e mapeia um arquivo de dados.
+     *
+     * @param path O caminho do arquivo.
+     * @return O leitor do arquivo.
+     * @throws IOException Se o arquivo não puder ser aberto ou estiver inconsistente.
+     */
+    public static PlayerDataFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new PlayerDataFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna a quantidade de registros não removidos, informada no cabeçalho.
+     *
+     * @return O número de registros.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retorna a quantidade de registros removidos que ainda ocupam espaço no arquivo, informada no cabeçalho.
+     *
+     * @return O número de registros removidos.
+     */
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Retorna o fim da área de registros.
+     *
+     * @return O byte offset seguinte ao último registro.
+     */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Cria um cursor sobre todos os registros do arquivo.
+     *
+     * @return O cursor, posicionado antes do primeiro registro.
+     */
+    public Cursor cursor() {
+        return new Cursor(HEADER_SIZE, endOffset);
+    }
+
+    /**
+     * Cria um cursor sobre os registros que começam em um trecho do arquivo.
+     *
+     * @param start O início do primeiro registro do trecho, como os retornados por {@link #segmentBounds}.
+     * @param end O fim do trecho.
+     * @return O cursor, posicionado antes do primeiro registro do trecho.
+     */
+    public Cursor cursor(int start, int end) {
+        if (start < HEADER_SIZE || start > end || end > endOffset) {
+            throw new IllegalArgumentException("Trecho inválido: " + start + " a " + end);
+        }
+        return new Cursor(start, end);
+    }
+
+    /**
+     * Divide a área de registros em trechos alinhados aos registros.
+     *
+     * Como os registros têm tamanho variável, os limites são encontrados seguindo o tamanhoRegistro de cada um, sem
+     * ler os demais campos. Registros removidos também contam para o tamanho dos trechos.
+     *
+     * @param recordsPerSegment A quantidade de registros de cada trecho.
+     * @return O início de cada trecho, seguido do fim da área de registros.
+     * @throws IllegalArgumentException Se um registro tiver um tamanho inválido.
+     */
+    public int[] segmentBounds(int recordsPerSegment) {
+        int[] bounds = new int[16];
+        int count = 0;
+        int records = 0;
+        int position = HEADER_SIZE;
+        while (position < endOffset) {
+            if (records++ % recordsPerSegment == 0) {
+                if (count == bounds.length - 1) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                }
+                bounds[count++] = position;
+            }
+            int size = buffer.getInt(position + 1);
+            if (size < RECORD_HEADER_SIZE || size > endOffset - position) {
+                throw new IllegalArgumentException("Registro inválido na posição " + position);
+            }
+            position += size;
+        }
+        bounds[count++] = endOffset;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Lê o registro que começa em um offset, como os informados pelo índice primário (veja {@link PlayerIndexFile}).
+     *
+     * @param offset O byte offset do registro.
+     * @return O jogador, ou null se o registro estiver removido.
+     * @throws IOException Se o offset não apontar para um registro válido.
+     */
+    public Player readPlayer(long offset) throws IOException {
+        if (offset < HEADER_SIZE || offset > endOffset - RECORD_HEADER_SIZE) {
+            throw new IOException("Offset fora da área de registros: " + offset);
+        }
+        int position = (int) offset;
+        int size = buffer.getInt(position + 1);
+        if (size < RECORD_HEADER_SIZE || size > endOffset - position) {
+            throw new IOException("Registro inválido na posição " + position);
+        }
+        if (buffer.get(position) == REMOVED) {
+            return null;
+        }
+        Cursor cursor = new Cursor(position, endOffset);
+        cursor.offset = position;
+        return cursor.toPlayer();
+    }
+
+    /**
+     * Lê os jogadores que atendem a uma busca, na ordem do arquivo.
+     *
+     * @param query A busca, avaliada com a mesma comparação do programa de arquivos (veja {@link PlayerQuery#matches}).
+     * @return As colunas com os jogadores encontrados.
+     * @throws IOException Se o arquivo for alterado durante a leitura.
+     */
+    public PlayerColumns readPlayers(PlayerQuery query) throws IOException {
+        try {
+            return new PlayerScanner(this).scan(query);
+        } catch (InternalError e) {
+            // A JVM sinaliza assim o acesso a uma parte do mapeamento que deixou de existir no arquivo
+            throw new IOException("O arquivo de dados foi alterado durante a leitura", e);
+        }
+    }
+
+    /**
+     * Fecha o canal do arquivo. O mapeamento é liberado pela coleta de lixo.
+     *
+     * @throws IOException Se ocorrer um erro ao fechar o canal.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Cursor que percorre os registros não removidos de um trecho do arquivo, lendo os campos do mapeamento.
+     * Cada cursor deve ser usado por uma única thread.
+     */
+    public final class Cursor {
+        private int next; // Início do próximo registro a ser examinado
+        private final int end; // Fim do trecho percorrido
+        private int offset = -1; // Início do registro atual
+        private byte[] scratch = new byte[64]; // Buffer reaproveitado para decodificar os textos
+
+        /**
+         * Cria um cursor sobre os registros que começam no trecho informado.
+         *
+         * @param start O início do primeiro registro.
+         * @param end O fim do trecho.
+         */
+        private Cursor(int start, int end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        /**
+         * Avança para o próximo registro não removido.
+         *
+         * @return true se há um registro atual, ou false se o trecho terminou.
+         * @throws IllegalArgumentException Se um registro tiver um tamanho inválido.
+         */
+        public boolean next() {
+            while (next < end) {
+                int current = next;
+                int size = buffer.getInt(current + 1);
+                if (size < RECORD_HEADER_SIZE || size > end - current) {
+                    throw new IllegalArgumentException("Registro inválido na posição " + current);
+                }
+                next = current + size;
+                if (buffer.get(current) != REMOVED) {
+                    offset = current;
+                    return true;
+                }
+            }
+            offset = -1;
+            return false;
+        }
+
+        /**
+         * Retorna o byte offset do registro atual.
+         *
+         * @return O offset do registro.
+         */
+        public int offset() {
+            return offset;
+        }
+
+        /**
+         * Retorna o id do registro atual.
+         *
+         * @return O id.
+         */
+        public int id() {
+            return buffer.getInt(offset + 13);
+        }
+
+        /**
+         * Retorna a idade do registro atual.
+         *
+         * @return A idade, ou -1 se for nula.
+         */
+        public int age() {
+            return buffer.getInt(offset + RECORD_HEADER_SIZE);
+        }
+
+        /**
+         * Retorna o nome do jogador do registro atual.
+         *
+         * @return O nome, ou um texto vazio se for nulo.
+         */
+        public String playerName() {
+            return readString(fieldOffset(0));
+        }
+
+        /**
+         * Retorna a nacionalidade do registro atual.
+         *
+         * @return A nacionalidade, ou um texto vazio se for nula.
+         */
+        public String nationality() {
+            return readString(fieldOffset(1));
+        }
+
+        /**
+         * Retorna o nome do clube do registro atual.
+         *
+         * @return O nome do clube, ou um texto vazio se for nulo.
+         */
+        public String clubName() {
+            return readString(fieldOffset(2));
+        }
+
+        /**
+         * Verifica se o registro atual atende a um filtro, comparando os textos pelos bytes UTF-8 do mapeamento, sem
+         * decodificá-los, com a regra de prefixo do programa de arquivos (veja {@link PlayerQuery#textMatches}).
+         *
+         * @param filter O filtro da busca.
+         * @return true se o registro seria retornado pela busca.
+         */
+        public boolean matches(Filter filter) {
+            if ((filter.id != -1 && id() != filter.id) || (filter.age != -1 && age() != filter.age)) {
+                return false;
+            }
+            int position = offset + RECORD_HEADER_SIZE + 4;
+            for (byte[] expected : filter.texts) {
+                int length = buffer.getInt(position);
+                if (expected != null && !isPrefixOf(position + 4, length, expected)) {
+                    return false;
+                }
+                position += 4 + length;
+            }
+            return true;
+        }
+
+        /**
+         * Verifica se um texto do mapeamento é um prefixo não vazio dos bytes procurados.
+         *
+         * @param position A posição dos bytes do texto.
+         * @param length O tamanho do texto.
+         * @param expected Os bytes procurados.
+         * @return true se o texto não é nulo e os bytes procurados começam por ele.
+         */
+        private boolean isPrefixOf(int position, int length, byte[] expected) {
+            if (length <= 0 || length > expected.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(position + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Monta o jogador do registro atual.
+         *
+         * @return O jogador, com os textos nulos vazios, como exibidos na tabela.
+         */
+        public Player toPlayer() {
+            int nameOffset = fieldOffset(0);
+            int nationalityOffset = nameOffset + 4 + buffer.getInt(nameOffset);
+            int clubOffset = nationalityOffset + 4 + buffer.getInt(nationalityOffset);
+            return new Player(id(), age(), readString(nameOffset), readString(nationalityOffset), readString(clubOffset));
+        }
+
+        /**
+         * Calcula a posição de um texto do registro atual, pulando os textos anteriores.
+         *
+         * @param field O índice do texto (0 para nomeJogador, 1 para nacionalidade e 2 para nomeClube).
+         * @return A posição do tamanho do texto.
+         */
+        private int fieldOffset(int field) {
+            int position = offset + RECORD_HEADER_SIZE + 4;
+            for (int i = 0; i < field; i++) {
+                position += 4 + buffer.getInt(position);
+            }
+            return position;
+        }
+
+        /**
+         * Decodifica um texto do mapeamento.
+         *
+         * @param position A posição do tamanho do texto.
+         * @return O texto, ou um texto vazio se o tamanho for 0.
+         */
+        private String readString(int position) {
+            int length = buffer.getInt(position);
+            if (length <= 0) {
+                return "";
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(position + 4, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Filtros de uma busca preparados para serem avaliados diretamente sobre os registros (veja
+     * {@link Cursor#matches}): os textos são convertidos uma única vez para UTF-8, na ordem em que aparecem no registro.
+     */
+    public static final class Filter {
+        private final int id; // Id procurado, ou -1
+        private final int age; // Idade procurada, ou -1
+        private final byte[][] texts; // nomeJogador, nacionalidade e nomeClube procurados, ou null
+
+        /**
+         * Prepara os filtros de uma busca.
+         *
+         * @param query A busca.
+         */
+        public Filter(PlayerQuery query) {
+            id = query.id();
+            age = query.age();
+            texts = new byte[][]{encode(query.playerName()), encode(query.nationality()), encode(query.clubName())};
+        }
+
+        /**
+         * Converte um filtro de texto para UTF-8.
+         *
+         * @param value O texto do filtro, ou null.
+         * @return Os bytes do texto, ou null se o filtro não foi informado.
+         */
+        private static byte[] encode(String value) {
+            return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.gui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+/**
+ * Índice primário de um arquivo de dados (XIndice.bin), carregado em memória.
+ *
+ * O arquivo tem um byte de status ('0' inconsistente, '1' consistente) seguido de pares (id, byteOffset), com o id
+ * (int) e o offset (long) em little-endian, ordenados pelo id. Os pares são copiados para dois vetores primitivos, de
+ * modo que um id é resolvido para o offset do registro no arquivo de dados com uma busca binária, como faz o
+ * indexVectorBinarySearch do programa de arquivos.
+ *
+ * O índice é reescrito pelo servidor a cada alteração; {@link #isCurrent()} informa se a cópia carregada ainda
+ * corresponde ao arquivo.
+ */
+public class PlayerIndexFile {
+    private static final int ENTRY_SIZE = 12; // id (int) e byteOffset (long)
+    private static final byte CONSISTENT = '1'; // Status de um arquivo que não está sendo alterado
+
+    private final Path path; // Caminho do arquivo de índice
+    private final FileTime lastModified; // Data de modificação do arquivo quando foi carregado
+    private final long size; // Tamanho do arquivo quando foi carregado
+    private final int[] ids; // Ids em ordem crescente
+    private final long[] offsets; // Offset do registro de cada id
+
+    /**
+     * Cria o índice a partir dos vetores carregados.
+     *
+     * @param path O caminho do arquivo de índice.
+     * @param lastModified A data de modificação do arquivo.
+     * @param size O tamanho do arquivo.
+     * @param ids Os ids em ordem crescente.
+     * @param offsets Os offsets correspondentes.
+     */
+    private PlayerIndexFile(Path path, FileTime lastModified, long size, int[] ids, long[] offsets) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.ids = ids;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Carrega um arquivo de índice.
+     *
+     * @param path O caminho do arquivo.
+     * @return O índice carregado.
+     * @throws IOException Se o arquivo não puder ser lido, estiver inconsistente ou com os ids fora de ordem.
+     */
+    public static PlayerIndexFile load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            FileTime lastModified = Files.getLastModifiedTime(path);
+            long size = channel.size();
+            if (size < 1 || (size - 1) % ENTRY_SIZE != 0 || size > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho de arquivo de índice inválido: " + size + " bytes");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.get(0) != CONSISTENT) {
+                throw new IOException("O arquivo de índice está inconsistente");
+            }
+
+            int count = (int) ((size - 1) / ENTRY_SIZE);
+            int[] ids = new int[count];
+            long[] offsets = new long[count];
+            buffer.position(1);
+            for (int i = 0; i < count; i++) {
+                ids[i] = buffer.getInt();
+                offsets[i] = buffer.getLong();
+                if (i > 0 && ids[i] <= ids[i - 1]) {
+                    throw new IOException("O arquivo de índice não está ordenado");
+                }
+            }
+            return new PlayerIndexFile(path, lastModified, size, ids, offsets);
+        }
+    }
+
+    /**
+     * Verifica se o arquivo de índice não foi alterado desde que foi carregado.
+     *
+     * @return true se o arquivo tem a mesma data de modificação e o mesmo tamanho.
+     */
+    public boolean isCurrent() {
+        try {
+            return Files.getLastModifiedTime(path).equals(lastModified) && Files.size(path) == size;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retorna o caminho do arquivo de índice.
+     *
+     * @return O caminho do arquivo.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Retorna a quantidade de ids do índice.
+     *
+     * @return O número de entradas.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Resolve um id para o offset do seu registro no arquivo de dados.
+     *
+     * @param playerId O id do jogador.
+     * @return O byte offset do registro, ou -1 se o id não estiver no índice.
+     */
+    public long find(int playerId) {
+        int position = Arrays.binarySearch(ids, playerId);
+        return position >= 0 ? offsets[position] : -1;
+    }
+}
@@ -0,0 +1,140 @@
+package com.gui;
+
+/**
+ * Representa os filtros de uma busca de jogadores.
+ *
+ * Os textos são guardados já sem espaços nas extremidades, de modo que duas buscas com os mesmos filtros
+ * são iguais independentemente de como foram digitadas. Um filtro ausente é representado por -1 nos campos
+ * numéricos e por null nos campos de texto. A busca sem nenhum filtro corresponde a todos os jogadores.
+ *
+ * @param id O id procurado, ou -1.
+ * @param age A idade procurada, ou -1.
+ * @param playerName O nome do jogador procurado, ou null.
+ * @param nationality A nacionalidade procurada, ou null.
+ * @param clubName O nome do clube procurado, ou null.
+ */
+public record PlayerQuery(int id, int age, String playerName, String nationality, String clubName) {
+    /**
+     * Busca sem filtros, que corresponde à listagem completa.
+     */
+    public static final PlayerQuery ALL = new PlayerQuery(-1, -1, null, null, null);
+
+    /**
+     * Normaliza os filtros, removendo espaços das extremidades e tratando textos vazios como filtros ausentes.
+     */
+    public PlayerQuery {
+        playerName = normalize(playerName);
+        nationality = normalize(nationality);
+        clubName = normalize(clubName);
+    }
+
+    /**
+     * Cria uma busca a partir dos textos digitados nos campos de filtro.
+     *
+     * @param id O texto do campo de id.
+     * @param age O texto do campo de idade.
+     * @param playerName O texto do campo de nome do jogador.
+     * @param nationality O texto do campo de nacionalidade.
+     * @param clubName O texto do campo de nome do clube.
+     * @return A busca correspondente.
+     * @throws NumberFormatException Se o id ou a idade não forem números.
+     */
+    public static PlayerQuery fromFields(String id, String age, String playerName, String nationality, String clubName) {
+        return new PlayerQuery(parseNumber(id), parseNumber(age), playerName, nationality, clubName);
+    }
+
+    /**
+     * Retorna a quantidade de filtros da busca.
+     *
+     * @return O número de filtros preenchidos.
+     */
+    public int getFieldCount() {
+        int fieldCount = 0;
+        if (id != -1) fieldCount++;
+        if (age != -1) fieldCount++;
+        if (playerName != null) fieldCount++;
+        if (nationality != null) fieldCount++;
+        if (clubName != null) fieldCount++;
+        return fieldCount;
+    }
+
+    /**
+     * Monta o comando de busca (funcionalidade 3) do programa de arquivos.
+     *
+     * @param fileName O nome do arquivo, sem extensão.
+     * @return O comando a ser enviado ao servidor.
+     */
+    public String toCommand(String fileName) {
+        StringBuilder fieldsBuilder = new StringBuilder();
+        if (id != -1) {
+            fieldsBuilder.append(" id ").append(id);
+        }
+        if (age != -1) {
+            fieldsBuilder.append(" idade ").append(age);
+        }
+        if (playerName != null) {
+            fieldsBuilder.append(" nomeJogador \"").append(playerName).append("\"");
+        }
+        if (nationality != null) {
+            fieldsBuilder.append(" nacionalidade \"").append(nationality).append("\"");
+        }
+        if (clubName != null) {
+            fieldsBuilder.append(" nomeClube \"").append(clubName).append("\"");
+        }
+        String fields = fieldsBuilder.isEmpty() ? " " : fieldsBuilder.toString();
+        return String.format("3 %s.bin 1\n%d%s", fileName, getFieldCount(), fields);
+    }
+
+    /**
+     * Verifica se um jogador satisfaz todos os filtros, com a mesma comparação do programa de arquivos: números iguais
+     * e textos comparados por {@link #textMatches}.
+     *
+     * @param player O jogador a ser verificado.
+     * @return true se o jogador seria retornado pela busca.
+     */
+    public boolean matches(Player player) {
+        return (id == -1 || player.id() == id)
+                && (age == -1 || player.age() == age)
+                && (playerName == null || textMatches(player.playerName(), playerName))
+                && (nationality == null || textMatches(player.nationality(), nationality))
+                && (clubName == null || textMatches(player.clubName(), clubName));
+    }
+
+    /**
+     * Compara o texto de um jogador com o texto procurado, como o selectWhere do programa de arquivos: o jogador atende
+     * ao filtro se o seu texto não for nulo e for um prefixo do texto procurado (ex.: o clube "BORUSSIA DORTMUND"
+     * atende à busca por "BORUSSIA DORTMUND II", mas não o contrário).
+     *
+     * @param stored O texto do jogador; textos nulos são vazios.
+     * @param text O texto procurado.
+     * @return true se o jogador atende ao filtro.
+     */
+    public static boolean textMatches(String stored, String text) {
+        return stored != null && !stored.isEmpty() && text.startsWith(stored);
+    }
+
+    /**
+     * Remove os espaços das extremidades de um filtro de texto.
+     *
+     * @param value O texto do filtro.
+     * @return O texto normalizado, ou null se o filtro estiver vazio.
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Converte o texto de um filtro numérico.
+     *
+     * @param value O texto do filtro.
+     * @return O número, ou -1 se o filtro estiver vazio.
+     */
+    private static int parseNumber(String value) {
+        String trimmed = normalize(value);
+        return trimmed == null ? -1 : Integer.parseInt(trimmed);
+    }
+}
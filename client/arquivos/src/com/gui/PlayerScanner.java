@@ -0,0 +1,121 @@
+package com.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Busca paralela de jogadores em um arquivo de dados mapeado em memória, com a mesma comparação do selectWhere do
+ * programa de arquivos (veja {@link PlayerQuery#matches}).
+ *
+ * A área de registros é dividida em trechos alinhados aos registros (veja {@link PlayerDataFile#segmentBounds}), e
+ * cada trecho é percorrido por um cursor próprio em uma tarefa de fork/join. Os filtros são avaliados sobre os bytes
+ * do mapeamento e somente os jogadores encontrados são decodificados. Os resultados dos trechos são concatenados na
+ * ordem do arquivo, de modo que a tabela recebe as linhas na mesma ordem da busca feita pelo servidor.
+ */
+public class PlayerScanner {
+    private static final int MIN_SEGMENT_RECORDS = 4096; // Menor trecho que compensa uma tarefa separada
+    private static final int SEGMENTS_PER_THREAD = 4; // Trechos por thread, para equilibrar trechos mais lentos
+
+    private final PlayerDataFile dataFile; // Arquivo percorrido
+    private final ForkJoinPool pool; // Pool que executa as tarefas dos trechos
+
+    /**
+     * Cria uma busca sobre um arquivo de dados, executada no pool comum de fork/join.
+     *
+     * @param dataFile O arquivo de dados.
+     */
+    public PlayerScanner(PlayerDataFile dataFile) {
+        this(dataFile, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Cria uma busca sobre um arquivo de dados, executada no pool informado.
+     *
+     * @param dataFile O arquivo de dados.
+     * @param pool O pool de fork/join.
+     */
+    public PlayerScanner(PlayerDataFile dataFile, ForkJoinPool pool) {
+        this.dataFile = dataFile;
+        this.pool = pool;
+    }
+
+    /**
+     * Busca os jogadores que atendem a uma busca.
+     *
+     * @param query A busca, avaliada com a mesma comparação do programa de arquivos (veja {@link PlayerQuery#matches}).
+     * @return As colunas com os jogadores encontrados, na ordem do arquivo.
+     * @throws IllegalArgumentException Se um registro tiver um tamanho inválido.
+     */
+    public PlayerColumns scan(PlayerQuery query) {
+        int records = dataFile.getRecordCount() + dataFile.getRemovedCount();
+        int segments = pool.getParallelism() * SEGMENTS_PER_THREAD;
+        int recordsPerSegment = Math.max(MIN_SEGMENT_RECORDS, (records + segments - 1) / segments);
+        int[] bounds = dataFile.segmentBounds(recordsPerSegment);
+        List<Player> players = pool.invoke(new SegmentTask(new PlayerDataFile.Filter(query), bounds, 0, bounds.length - 1));
+        return PlayerColumns.of(players);
+    }
+
+    /**
+     * Tarefa que percorre um intervalo de trechos, dividindo-o ao meio até restar um único trecho.
+     */
+    private class SegmentTask extends RecursiveTask<List<Player>> {
+        private final PlayerDataFile.Filter filter; // Filtros da busca
+        private final int[] bounds; // Limites dos trechos
+        private final int from; // Primeiro trecho do intervalo
+        private final int to; // Trecho seguinte ao último do intervalo
+
+        /**
+         * Cria a tarefa de um intervalo de trechos.
+         *
+         * @param filter Os filtros da busca.
+         * @param bounds Os limites dos trechos.
+         * @param from O primeiro trecho do intervalo.
+         * @param to O trecho seguinte ao último do intervalo.
+         */
+        SegmentTask(PlayerDataFile.Filter filter, int[] bounds, int from, int to) {
+            this.filter = filter;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Percorre o trecho, ou divide o intervalo e concatena os resultados das duas metades em ordem.
+         *
+         * @return Os jogadores encontrados no intervalo, na ordem do arquivo.
+         */
+        @Override
+        protected List<Player> compute() {
+            if (to - from <= 1) {
+                return scanSegment();
+            }
+            int middle = (from + to) >>> 1;
+            SegmentTask right = new SegmentTask(filter, bounds, middle, to);
+            right.fork();
+            List<Player> players = new SegmentTask(filter, bounds, from, middle).compute();
+            players.addAll(right.join());
+            return players;
+        }
+
+        /**
+         * Percorre os registros de um único trecho.
+         *
+         * @return Os jogadores encontrados no trecho.
+         */
+        private List<Player> scanSegment() {
+            List<Player> players = new ArrayList<>();
+            if (from == to) {
+                return players;
+            }
+            PlayerDataFile.Cursor cursor = dataFile.cursor(bounds[from], bounds[to]);
+            while (cursor.next()) {
+                if (cursor.matches(filter)) {
+                    players.add(cursor.toPlayer());
+                }
+            }
+            return players;
+        }
+    }
+}
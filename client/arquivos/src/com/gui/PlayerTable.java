@@ -3,7 +3,10 @@ package com.gui;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -15,12 +18,18 @@ public class PlayerTable {
     private static JPanel tablePanel; // Painel que contém a tabela e os GIFs
     private final JPanel gifPanel; // Painel específico para mostrar GIFs
     public static JTable table; // A tabela que exibirá os dados dos jogadores
+    private static TableRowSorter<PlayerTableModel> sorter; // Ordenador reaproveitado entre as consultas
+    private static JScrollPane scrollPane; // Painel de rolagem da tabela
+    private static final JLabel countLabel = new JLabel(" "); // Quantidade de jogadores do resultado exibido
+    private static final ImageIcon EDIT_ICON = loadIcon("./resources/edit_icon.png"); // Ícone de edição, carregado uma única vez
+    private static final ImageIcon DELETE_ICON = loadIcon("./resources/delete_icon.png"); // Ícone de exclusão, carregado uma única vez
 
     /**
      * Construtor que inicializa a tabela e os painéis de GIF.
      */
     public PlayerTable() {
         tablePanel = new JPanel(new BorderLayout());
+        countLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
 
         gifPanel = new JPanel(new GridBagLayout()); // Configura o layout para o painel de GIFs
         GridBagConstraints gbc = new GridBagConstraints();
@@ -60,29 +69,90 @@ public class PlayerTable {
      * Atualiza a tabela de jogadores com base na lista fornecida.
      * 
      * @param players A lista de jogadores a ser exibida na tabela.
+     * @return O modelo criado para a tabela.
      */
-    public static void updateTable(List<Player> players) {
+    public static PlayerTableModel updateTable(List<Player> players) {
         PlayerTableModel model = new PlayerTableModel(players);
-        table = new JTable(model);
+        setModel(model);
+        return model;
+    }
 
-        TableRowSorter<PlayerTableModel> sorter = new TableRowSorter<>(model);
-        table.setRowSorter(sorter);
+    /**
+     * Exibe um modelo na tabela de jogadores.
+     * A tabela, o ordenador, os renderizadores e os editores são criados apenas na primeira chamada;
+     * nas seguintes, somente o modelo é trocado, o modelo anterior é fechado e a ordenação escolhida pelo usuário é mantida.
+     * Alterações posteriores em linhas do modelo são refletidas pelos eventos do próprio modelo.
+     *
+     * @param model O modelo a ser exibido.
+     */
+    public static void setModel(PlayerTableModel model) {
+        if (table == null) {
+            createTable(model);
+        } else {
+            if (table.isEditing()) {
+                table.getCellEditor().cancelCellEditing();
+            }
+            PlayerTableModel previous = (PlayerTableModel) table.getModel();
+            List<? extends RowSorter.SortKey> sortKeys = sorter.getSortKeys();
+            sorter.setModel(model);
+            table.setModel(model); // As colunas são mantidas, pois não são recriadas a partir do modelo
+            if (!(model instanceof PagedPlayerTableModel)) {
+                sorter.setSortKeys(sortKeys); // O modelo paginado não pode ser ordenado
+            }
+            if (previous != model) {
+                previous.close();
+            }
+        }
+        // A contagem acompanha as linhas acrescentadas, alteradas ou removidas do modelo
+        model.addTableModelListener(e -> updateCount(model));
+        updateCount(model);
+
+        if (scrollPane.getParent() != tablePanel) {
+            tablePanel.removeAll();
+            tablePanel.add(scrollPane, BorderLayout.CENTER);
+            tablePanel.add(countLabel, BorderLayout.SOUTH);
+            tablePanel.revalidate();
+            tablePanel.repaint();
+        }
+    }
 
-        sorter.setSortable(5, false);
-        sorter.setSortable(6, false);
+    /**
+     * Exibe a quantidade de jogadores de um modelo, se ele ainda for o modelo da tabela.
+     *
+     * @param model O modelo cuja quantidade mudou.
+     */
+    private static void updateCount(PlayerTableModel model) {
+        if (table.getModel() != model) {
+            return;
+        }
+        int count = model.getPlayerCount();
+        countLabel.setText(count == 1 ? "1 jogador" : count + " jogadores");
+    }
 
-        ImageIcon editIcon = loadIcon("./resources/edit_icon.png");
-        ImageIcon deleteIcon = loadIcon("./resources/delete_icon.png");
+    /**
+     * Cria a tabela de jogadores, configurando o ordenador, os renderizadores e os editores das colunas.
+     *
+     * @param model O modelo inicial da tabela.
+     */
+    private static void createTable(PlayerTableModel model) {
+        table = new JTable(model);
+        table.setAutoCreateColumnsFromModel(false);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        installSelectionActions();
 
-        table.getColumnModel().getColumn(5).setCellRenderer(new IconRenderer(editIcon));
-        table.getColumnModel().getColumn(6).setCellRenderer(new IconRenderer(deleteIcon));
-        table.getColumnModel().getColumn(5).setCellEditor(new IconEditor(editIcon, table));
-        table.getColumnModel().getColumn(6).setCellEditor(new IconEditor(deleteIcon, table));
+        sorter = new PlayerRowSorter(model);
+        sorter.setSortsOnUpdates(true);
+        table.setRowSorter(sorter);
+
+        table.getColumnModel().getColumn(5).setCellRenderer(new IconRenderer(EDIT_ICON));
+        table.getColumnModel().getColumn(6).setCellRenderer(new IconRenderer(DELETE_ICON));
+        table.getColumnModel().getColumn(5).setCellEditor(new IconEditor(EDIT_ICON, table));
+        table.getColumnModel().getColumn(6).setCellEditor(new IconEditor(DELETE_ICON, table));
 
         JTableHeader header = table.getTableHeader();
         header.setDefaultRenderer(new SortableHeaderRenderer(header.getDefaultRenderer()));
 
-        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane = new JScrollPane(table);
 
         table.setFont(new Font("Arial", Font.PLAIN, 12));
         table.setRowHeight(30);
@@ -97,11 +167,114 @@ public class PlayerTable {
                 table.getColumnModel().getColumn(columnIndex).setCellRenderer(centerRenderer);
             }
         }
+    }
 
-        tablePanel.removeAll();
-        tablePanel.add(scrollPane, BorderLayout.CENTER);
-        tablePanel.revalidate();
-        tablePanel.repaint();
+    /**
+     * Adiciona à tabela as ações sobre as linhas selecionadas: um menu de contexto para editar ou excluir
+     * os jogadores selecionados e a tecla Delete para excluí-los.
+     */
+    private static void installSelectionActions() {
+        JPopupMenu popupMenu = new JPopupMenu();
+        JMenuItem editItem = new JMenuItem("Editar selecionados");
+        editItem.addActionListener(e -> editSelectedPlayers());
+        popupMenu.add(editItem);
+        JMenuItem deleteItem = new JMenuItem("Excluir selecionados");
+        deleteItem.addActionListener(e -> deleteSelectedPlayers());
+        popupMenu.add(deleteItem);
+        table.setComponentPopupMenu(popupMenu);
+
+        table.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(KeyEvent.VK_DELETE, 0), "deleteSelectedPlayers");
+        table.getActionMap().put("deleteSelectedPlayers", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                deleteSelectedPlayers();
+            }
+        });
+    }
+
+    /**
+     * Retorna os jogadores das linhas selecionadas, na ordem em que são exibidas.
+     *
+     * @return Os jogadores selecionados.
+     */
+    private static List<Player> getSelectedPlayers() {
+        PlayerTableModel model = (PlayerTableModel) table.getModel();
+        List<Player> players = new ArrayList<>();
+        for (int viewRow : table.getSelectedRows()) {
+            Player player = model.getPlayerAt(table.convertRowIndexToModel(viewRow));
+            if (player != null) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Edita os jogadores selecionados: um único jogador é aberto no diálogo de edição, e vários no diálogo de edição em lote.
+     */
+    private static void editSelectedPlayers() {
+        List<Player> players = getSelectedPlayers();
+        if (players.size() == 1) {
+            MainFrame.onEditButtonClicked(players.getFirst());
+        } else if (!players.isEmpty()) {
+            MainFrame.onBatchEditRequested(players);
+        }
+    }
+
+    /**
+     * Exclui os jogadores selecionados após confirmação, com uma única requisição ao servidor.
+     */
+    private static void deleteSelectedPlayers() {
+        List<Player> players = getSelectedPlayers();
+        if (players.isEmpty()) {
+            return;
+        }
+
+        JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(table);
+        int confirm = JOptionPane.showConfirmDialog(frame,
+                "Deseja realmente excluir os " + players.size() + " jogadores selecionados?",
+                "Confirmar Exclusão",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE);
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            PlayerTableModel model = (PlayerTableModel) table.getModel();
+            int[] playerIds = players.stream().mapToInt(Player::getId).toArray();
+            MainFrame.deletePlayers(playerIds, () -> model.removePlayersById(playerIds));
+        }
+    }
+
+    /**
+     * Ordenador da tabela de jogadores.
+     * As colunas de ações e os modelos paginados nunca são ordenáveis, mesmo depois que o modelo é trocado e o ordenador reinicia sua configuração,
+     * e as linhas de jogadores removidos ficam ocultas até que o modelo as compacte.
+     */
+    static class PlayerRowSorter extends TableRowSorter<PlayerTableModel> {
+        /**
+         * Construtor da classe PlayerRowSorter.
+         *
+         * @param model O modelo a ser ordenado.
+         */
+        public PlayerRowSorter(PlayerTableModel model) {
+            super(model);
+            setRowFilter(new RowFilter<>() {
+                @Override
+                public boolean include(Entry<? extends PlayerTableModel, ? extends Integer> entry) {
+                    return !entry.getModel().isRemoved(entry.getIdentifier());
+                }
+            });
+        }
+
+        /**
+         * Indica se uma coluna pode ser ordenada.
+         *
+         * @param column O índice da coluna.
+         * @return false para as colunas de edição e exclusão e para qualquer coluna de um modelo paginado.
+         */
+        @Override
+        public boolean isSortable(int column) {
+            return column != 5 && column != 6 && !(getModel() instanceof PagedPlayerTableModel) && super.isSortable(column);
+        }
     }
 
     /**
@@ -256,7 +429,12 @@ public class PlayerTable {
             button.addActionListener(e -> {
                 if ("delete".equals(currentValue)) {
                     int row = table.convertRowIndexToModel(table.getEditingRow());
-                    Player player = ((PlayerTableModel) table.getModel()).getPlayerAt(row);
+                    Player player = MainFrame.findCurrentPlayer(((PlayerTableModel) table.getModel()).getPlayerAt(row));
+                    if (player == null) {
+                        JOptionPane.showMessageDialog(null, "O jogador não está mais no arquivo.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                        fireEditingStopped();
+                        return;
+                    }
 
                     JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(table);
                     int confirm = JOptionPane.showConfirmDialog(frame,
@@ -1,16 +1,24 @@
 package com.gui;
 
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Classe que representa o modelo de tabela para exibição dos jogadores.
- * Esta classe estende DefaultTableModel, permitindo personalizar o comportamento da tabela,
- * como a definição de colunas editáveis e a manipulação dos dados dos jogadores.
+ * Esta classe estende AbstractTableModel e lê os valores diretamente de um {@link PlayerColumns},
+ * permitindo personalizar o comportamento da tabela, como a definição de colunas editáveis
+ * e a manipulação dos dados dos jogadores, sem manter uma cópia das linhas em objetos.
  */
-public class PlayerTableModel extends DefaultTableModel {
+public class PlayerTableModel extends AbstractTableModel {
     private static final String[] columnNames = {"ID", "Idade", "Nome do Jogador", "Nacionalidade", "Nome do Clube", "Editar", "Excluir"};
-    private final List<Player> players;
+    private static final int COMPACTION_MIN_ROWS = 256; // Mínimo de linhas removidas para compactar
+    private final PlayerColumns players;
+    private final IntIntMap rowsById; // Linha de cada jogador pelo seu ID
+    private int removedRows; // Linhas marcadas como removidas e ainda não compactadas
+    private String searchFile; // Arquivo da busca exibida, definido quando o resultado está completo
+    private PlayerQuery searchQuery; // Busca que produziu o resultado exibido
 
     /**
      * Construtor da classe PlayerTableModel.
@@ -18,36 +26,125 @@ public class PlayerTableModel extends DefaultTableModel {
      * @param players A lista de jogadores a ser exibida na tabela.
      */
     public PlayerTableModel(List<Player> players) {
-        super(columnNames, 0); // Inicializa o modelo de tabela com os nomes das colunas.
-        this.players = players; // Armazena a lista de jogadores.
-        // Adiciona cada jogador como uma linha na tabela.
-        for (Player player : players) {
-            Object[] row = {
-                    player.id(),
-                    player.age() == -1 || player.age() == 0 ? "" : player.age(),
-                    player.playerName(),
-                    player.nationality(),
-                    player.clubName(),
-                    "edit",
-                    "delete"
-            };
-            addRow(row);
+        this(PlayerColumns.of(players));
+    }
+
+    /**
+     * Cria o modelo sobre colunas de jogadores já preenchidas.
+     *
+     * @param players As colunas com os jogadores a serem exibidos na tabela.
+     */
+    public PlayerTableModel(PlayerColumns players) {
+        this.players = players;
+        this.rowsById = new IntIntMap(players.size());
+        this.removedRows = players.getRemovedCount();
+        indexRows(0);
+    }
+
+    /**
+     * Acrescenta jogadores ao final da tabela, notificando a inserção de todas as linhas de uma só vez.
+     *
+     * @param newPlayers Os jogadores a serem acrescentados.
+     */
+    public void addPlayers(List<Player> newPlayers) {
+        if (newPlayers.isEmpty()) {
+            return;
+        }
+        int firstRow = getRowCount();
+        for (Player player : newPlayers) {
+            players.add(player);
         }
+        indexRows(firstRow);
+        fireTableRowsInserted(firstRow, getRowCount() - 1);
     }
 
     /**
      * Remove um jogador da tabela pelo seu ID.
+     * A linha é apenas marcada como removida e deixa de ser exibida pelo filtro do ordenador;
+     * as linhas removidas são descartadas de uma vez quando passam a ser uma fração relevante da tabela.
      * 
      * @param playerId O ID do jogador a ser removido.
      */
     public void removePlayerById(int playerId) {
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId() == playerId) {
-                players.remove(i); // Remove o jogador da lista.
-                removeRow(i);  // Remove a linha correspondente na tabela.
-                break;
+        int row = rowsById.remove(playerId);
+        if (row == IntIntMap.MISSING) {
+            return;
+        }
+        players.markRemoved(row);
+        removedRows++;
+        if (!compactIfNeeded()) {
+            fireTableRowsUpdated(row, row); // O filtro do ordenador passa a ocultar a linha
+        }
+    }
+
+    /**
+     * Remove vários jogadores da tabela, notificando a alteração uma única vez.
+     *
+     * @param playerIds Os IDs dos jogadores a serem removidos.
+     */
+    public void removePlayersById(int... playerIds) {
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = -1;
+        for (int playerId : playerIds) {
+            int row = rowsById.remove(playerId);
+            if (row != IntIntMap.MISSING) {
+                players.markRemoved(row);
+                removedRows++;
+                firstRow = Math.min(firstRow, row);
+                lastRow = Math.max(lastRow, row);
             }
         }
+        if (lastRow >= 0 && !compactIfNeeded()) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Aplica ao resultado de uma busca as alterações recebidas em uma sincronização incremental.
+     * Os jogadores removidos e os alterados que deixaram de atender à busca saem da tabela; os alterados que
+     * atendem à busca são atualizados, se já estiverem na tabela, ou acrescentados ao final.
+     *
+     * @param changedPlayers Os jogadores inseridos ou alterados desde a versão da tabela.
+     * @param deletedIds Os ids dos jogadores removidos desde a versão da tabela.
+     * @param query A busca que produziu a tabela.
+     */
+    public void applyChanges(List<Player> changedPlayers, int[] deletedIds, PlayerQuery query) {
+        int[] removedIds = Arrays.copyOf(deletedIds, deletedIds.length + changedPlayers.size());
+        int removedCount = deletedIds.length;
+        List<Player> addedPlayers = new ArrayList<>();
+        for (Player player : changedPlayers) {
+            if (!query.matches(player)) {
+                removedIds[removedCount++] = player.getId();
+            } else if (rowsById.get(player.getId()) != IntIntMap.MISSING) {
+                updatePlayer(player);
+            } else {
+                addedPlayers.add(player);
+            }
+        }
+        removePlayersById(Arrays.copyOf(removedIds, removedCount));
+        addPlayers(addedPlayers);
+    }
+
+    /**
+     * Registra a busca que produziu o resultado do modelo, depois que ele está completo.
+     * Somente modelos com a busca registrada recebem as notificações de alteração do arquivo.
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca feita no arquivo.
+     */
+    public void setSearch(String fileName, PlayerQuery query) {
+        this.searchFile = fileName;
+        this.searchQuery = query;
+    }
+
+    /**
+     * Retorna a busca que produziu o resultado completo do modelo, se ela foi feita no arquivo informado.
+     *
+     * @param fileName O arquivo alterado.
+     * @return A busca, ou null se o resultado ainda não está completo ou é de outro arquivo.
+     */
+    public PlayerQuery getSearchQuery(String fileName) {
+        return fileName != null && fileName.equals(searchFile) ? searchQuery : null;
     }
 
     /**
@@ -56,24 +153,152 @@ public class PlayerTableModel extends DefaultTableModel {
      * @param updatedPlayer O jogador atualizado.
      */
     public void updatePlayer(Player updatedPlayer) {
-        boolean updated = false;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).id() == updatedPlayer.id()) {
-                Player playerToUpdate = new Player(
-                        updatedPlayer.getId(),
-                        updatedPlayer.getAge(),
-                        updatedPlayer.getPlayerName().equals("NULO") ? "" : updatedPlayer.getPlayerName(),
-                        updatedPlayer.getNationality().equals("NULO") ? "" : updatedPlayer.getNationality(),
-                        updatedPlayer.getClubName().equals("NULO") ? "" : updatedPlayer.getClubName()
-                );
-                players.set(i, playerToUpdate); // Atualiza o jogador na lista.
-                updated = true;
-                break;
+        int row = rowsById.get(updatedPlayer.id());
+        if (row == IntIntMap.MISSING) {
+            return;
+        }
+        players.set(row, withoutNullMarkers(updatedPlayer)); // Atualiza o jogador nas colunas.
+        fireTableRowsUpdated(row, row); // Atualiza a visualização da linha.
+    }
+
+    /**
+     * Substitui os campos marcados como nulos ("NULO") no comando de atualização por textos vazios, como são exibidos.
+     *
+     * @param updatedPlayer O jogador enviado na atualização.
+     * @return O jogador como deve ser exibido na tabela.
+     */
+    protected static Player withoutNullMarkers(Player updatedPlayer) {
+        return new Player(
+                updatedPlayer.getId(),
+                updatedPlayer.getAge(),
+                updatedPlayer.getPlayerName().equals("NULO") ? "" : updatedPlayer.getPlayerName(),
+                updatedPlayer.getNationality().equals("NULO") ? "" : updatedPlayer.getNationality(),
+                updatedPlayer.getClubName().equals("NULO") ? "" : updatedPlayer.getClubName()
+        );
+    }
+
+    /**
+     * Libera os recursos associados ao modelo quando ele deixa de ser exibido.
+     * O modelo em memória não mantém recursos fora do próprio cliente, então nada é feito.
+     */
+    public void close() {
+    }
+
+    /**
+     * Verifica se uma linha do modelo corresponde a um jogador removido.
+     * Linhas removidas continuam no modelo até a compactação, mas não são exibidas.
+     *
+     * @param rowIndex O índice da linha no modelo.
+     * @return true se o jogador da linha foi removido.
+     */
+    public boolean isRemoved(int rowIndex) {
+        return players.isRemoved(rowIndex);
+    }
+
+    /**
+     * Retorna a quantidade de jogadores exibidos, sem contar as linhas removidas.
+     *
+     * @return O número de jogadores na tabela.
+     */
+    public int getPlayerCount() {
+        return players.size() - removedRows;
+    }
+
+    /**
+     * Registra no índice por ID as linhas a partir da informada.
+     *
+     * @param firstRow A primeira linha a ser registrada.
+     */
+    private void indexRows(int firstRow) {
+        for (int row = firstRow; row < players.size(); row++) {
+            if (!players.isRemoved(row)) {
+                rowsById.put(players.getId(row), row);
             }
         }
-        if (updated) {
-            PlayerTable.updateTable(players); // Atualiza a visualização da tabela.
+    }
+
+    /**
+     * Descarta as linhas removidas quando elas passam de um quarto da tabela, refazendo o índice por ID.
+     * O custo linear da compactação é diluído entre as remoções que a antecederam.
+     *
+     * @return true se a tabela foi compactada e a alteração já foi notificada.
+     */
+    private boolean compactIfNeeded() {
+        if (removedRows < COMPACTION_MIN_ROWS || removedRows * 4 < players.size()) {
+            return false;
         }
+        players.compact();
+        removedRows = 0;
+        rowsById.clear();
+        indexRows(0);
+        fireTableDataChanged();
+        return true;
+    }
+
+    /**
+     * Retorna a quantidade de linhas da tabela.
+     *
+     * @return O número de jogadores exibidos.
+     */
+    @Override
+    public int getRowCount() {
+        return players.size();
+    }
+
+    /**
+     * Retorna a quantidade de colunas da tabela.
+     *
+     * @return O número de colunas.
+     */
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Retorna o nome de uma coluna.
+     *
+     * @param columnIndex O índice da coluna.
+     * @return O nome exibido no cabeçalho.
+     */
+    @Override
+    public String getColumnName(int columnIndex) {
+        return columnNames[columnIndex];
+    }
+
+    /**
+     * Retorna o valor de uma célula, lido diretamente das colunas de jogadores.
+     *
+     * @param rowIndex    O índice da linha da célula.
+     * @param columnIndex O índice da coluna da célula.
+     * @return O valor exibido na célula.
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return getColumnValue(players, rowIndex, columnIndex);
+    }
+
+    /**
+     * Retorna o valor exibido em uma coluna para uma linha de um conjunto de colunas de jogadores.
+     *
+     * @param players     As colunas de jogadores.
+     * @param rowIndex    O índice da linha nas colunas.
+     * @param columnIndex O índice da coluna da tabela.
+     * @return O valor exibido na célula.
+     */
+    protected static Object getColumnValue(PlayerColumns players, int rowIndex, int columnIndex) {
+        return switch (columnIndex) {
+            case 0 -> players.getId(rowIndex);
+            case 1 -> {
+                int age = players.getAge(rowIndex);
+                yield age == -1 || age == 0 ? null : age; // Idade nula fica em branco
+            }
+            case 2 -> players.getPlayerName(rowIndex);
+            case 3 -> players.getNationality(rowIndex);
+            case 4 -> players.getClubName(rowIndex);
+            case 5 -> "edit";
+            default -> "delete";
+        };
     }
 
     /**
@@ -98,6 +323,15 @@ public class PlayerTableModel extends DefaultTableModel {
         return players.get(rowIndex);
     }
 
+    /**
+     * Retorna as colunas de jogadores exibidas pela tabela.
+     *
+     * @return As colunas de jogadores.
+     */
+    public PlayerColumns getPlayers() {
+        return players;
+    }
+
     /**
      * Obtém a classe da coluna especificada.
      * 
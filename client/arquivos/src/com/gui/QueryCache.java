@@ -0,0 +1,172 @@
+package com.gui;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache dos resultados de buscas de jogadores, indexado pelo arquivo e pela busca normalizada.
+ *
+ * Cada resultado guarda a versão do arquivo informada pelo servidor, para que possa ser revalidado com uma busca
+ * condicional: enquanto o arquivo não mudar, o servidor responde sem reenviar os jogadores.
+ *
+ * O tamanho é limitado pelo total de linhas guardadas; ao passar do limite, os resultados usados há mais tempo
+ * são descartados. Quando um jogador é excluído ou alterado, somente os resultados que o continham ou que passam
+ * a contê-lo são invalidados.
+ */
+public class QueryCache {
+    private final int maxRows; // Total máximo de linhas guardadas
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // Resultados em ordem de uso
+    private int cachedRows; // Total de linhas guardadas
+    private long generation; // Incrementada a cada invalidação
+    private long hits; // Buscas atendidas pelo cache
+    private long misses; // Buscas que precisaram do servidor
+
+    /**
+     * Construtor da classe QueryCache.
+     *
+     * @param maxRows O total máximo de linhas guardadas somando todos os resultados.
+     */
+    public QueryCache(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Procura o resultado de uma busca, contabilizando o acerto ou a falta.
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca.
+     * @return O resultado guardado, com uma cópia dos jogadores que pode ser alterada livremente, ou null se a busca
+     * não estiver no cache.
+     */
+    public synchronized Entry get(String fileName, PlayerQuery query) {
+        Entry entry = entries.get(new Key(fileName, query));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new Entry(entry.players().copy(), entry.version());
+    }
+
+    /**
+     * Retorna a geração atual do cache, que deve ser lida antes de enviar a busca ao servidor e informada em {@link #put}.
+     *
+     * @return A geração atual.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Guarda o resultado de uma busca. O resultado é descartado se alguma invalidação aconteceu desde que a busca foi
+     * enviada, pois ele pode não refletir a alteração.
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca.
+     * @param players O resultado da busca; não deve ser alterado depois de guardado.
+     * @param version A versão do arquivo informada pelo servidor, ou null se ela não foi informada.
+     * @param requestGeneration A geração lida com {@link #getGeneration()} antes do envio da busca.
+     */
+    public synchronized void put(String fileName, PlayerQuery query, PlayerColumns players, String version, long requestGeneration) {
+        if (requestGeneration != generation || players.size() > maxRows) {
+            return;
+        }
+        Entry previous = entries.put(new Key(fileName, query), new Entry(players, version));
+        if (previous != null) {
+            cachedRows -= previous.players().size();
+        }
+        cachedRows += players.size();
+
+        // Descarta os resultados usados há mais tempo até respeitar o limite
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (cachedRows > maxRows && eldest.hasNext()) {
+            cachedRows -= eldest.next().players().size();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Invalida os resultados afetados pela exclusão ou alteração de um jogador.
+     *
+     * @param fileName O arquivo alterado.
+     * @param playerId O id do jogador excluído ou alterado.
+     * @param newState O novo estado do jogador, ou null se ele foi excluído.
+     */
+    public synchronized void invalidate(String fileName, int playerId, Player newState) {
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            Key key = entry.getKey();
+            PlayerColumns players = entry.getValue().players();
+            if (key.fileName().equals(fileName)
+                    && (players.containsId(playerId) || (newState != null && key.query().matches(newState)))) {
+                cachedRows -= players.size();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Invalida todos os resultados de um arquivo, por exemplo quando ele é recriado.
+     *
+     * @param fileName O arquivo.
+     */
+    public synchronized void invalidateFile(String fileName) {
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().fileName().equals(fileName)) {
+                cachedRows -= entry.getValue().players().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade de buscas atendidas pelo cache.
+     *
+     * @return O número de acertos.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retorna a quantidade de buscas que não estavam no cache.
+     *
+     * @return O número de faltas.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retorna a quantidade de resultados guardados.
+     *
+     * @return O número de buscas no cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resultado guardado de uma busca.
+     *
+     * @param players Os jogadores encontrados.
+     * @param version A versão do arquivo em que a busca foi respondida, ou null se o servidor não a informou.
+     */
+    public record Entry(PlayerColumns players, String version) {
+    }
+
+    /**
+     * Chave de um resultado no cache.
+     *
+     * @param fileName O arquivo consultado.
+     * @param query A busca normalizada.
+     */
+    private record Key(String fileName, PlayerQuery query) {
+    }
+}
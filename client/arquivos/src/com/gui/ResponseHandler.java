@@ -11,10 +11,22 @@ public class ResponseHandler {
      * O código de status para uma resposta bem-sucedida.
      */
     public static final int STATUS_OK = 200;
+    /**
+     * O código de status para uma busca condicional cujo arquivo não mudou desde a versão informada pelo cliente.
+     */
+    public static final int STATUS_NOT_MODIFIED = 304;
+    /**
+     * O código de status para uma requisição inválida, como um comando do servidor com argumentos incorretos.
+     */
+    public static final int STATUS_BAD_REQUEST = 400;
     /**
      * O código de status para uma resposta de recurso não encontrado.
      */
     public static final int STATUS_NOT_FOUND = 404;
+    /**
+     * O código de status para uma sincronização incremental cuja versão não está mais no histórico do servidor.
+     */
+    public static final int STATUS_GONE = 410;
     /**
      * O código de status para uma resposta de erro interno do servidor.
      */
@@ -27,24 +39,37 @@ public class ResponseHandler {
      * @return O código de status extraído da resposta. Retorna -1 se o código de status não puder ser extraído.
      */
     public static int extractStatus(String response) {
+        return extractInt(response, "status");
+    }
+
+    /**
+     * Extrai o valor inteiro de uma chave de uma resposta.
+     *
+     * @param response A resposta recebida do servidor.
+     * @param key O nome da chave, sem aspas.
+     * @return O valor extraído da resposta. Retorna -1 se o valor não puder ser extraído.
+     */
+    public static int extractInt(String response, String key) {
         try {
-            int statusIndex = response.indexOf("\"status\":");
-            if (statusIndex == -1) { // Retorna -1 se não encontrar a chave "status"
+            String quotedKey = "\"" + key + "\":";
+            int keyIndex = response.indexOf(quotedKey);
+            if (keyIndex == -1) { // Retorna -1 se não encontrar a chave
                 return -1;
             }
 
-            int startIndex = statusIndex + 9; // Ajusta o índice para o começo do valor após "status":
-            int endIndex = response.indexOf(",", startIndex); // Procura a próxima vírgula para delimitar o fim do valor do status
-            if (endIndex == -1) { // Se não houver uma vírgula, procura por uma chave de fechamento
-                endIndex = response.indexOf("}", startIndex);
+            int startIndex = keyIndex + quotedKey.length(); // Ajusta o índice para o começo do valor após a chave
+            int endIndex = response.indexOf(",", startIndex); // Procura a próxima vírgula para delimitar o fim do valor
+            int closeIndex = response.indexOf("}", startIndex); // Procura também a chave de fechamento, caso o valor seja o último
+            if (endIndex == -1 || (closeIndex != -1 && closeIndex < endIndex)) {
+                endIndex = closeIndex;
             }
 
             if (endIndex == -1) { // Retorna -1 se não encontrar um delimitador válido
                 return -1;
             }
 
-            String statusString = response.substring(startIndex, endIndex).trim(); // Extrai a string do status
-            return Integer.parseInt(statusString); // Converte a string do status para inteiro
+            String valueString = response.substring(startIndex, endIndex).trim(); // Extrai a string do valor
+            return Integer.parseInt(valueString); // Converte a string do valor para inteiro
         } catch (Exception e) {  // Retorna -1 em caso de exceção durante a extração
             return -1;
         }
@@ -56,15 +81,28 @@ public class ResponseHandler {
      * @param response A resposta recebida do servidor.
      */
     public static void handleResponse(String response) {
-        int status = extractStatus(response);
-        String errorMessage = extractMessage(response);
+        handleResponse(extractStatus(response), extractMessage(response));
+    }
+
+    /**
+     * Lida com uma resposta cujo status e mensagem já foram extraídos.
+     *
+     * @param status O código de status da resposta.
+     * @param message A mensagem da resposta. Pode ser nula.
+     */
+    public static void handleResponse(int status, String message) {
+        String errorMessage = message != null ? message : "Detalhe do erro não disponível.";
 
         switch (status) {
             case STATUS_OK:
+            case STATUS_NOT_MODIFIED:
                 break;
             case STATUS_NOT_FOUND:
                 SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Nenhum registro encontrado. " + errorMessage, "Informação", JOptionPane.INFORMATION_MESSAGE));
                 break;
+            case STATUS_BAD_REQUEST:
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Requisição inválida. " + errorMessage, "Erro", JOptionPane.ERROR_MESSAGE));
+                break;
             case STATUS_INTERNAL_ERROR:
                 SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Erro interno do servidor. " + errorMessage, "Erro", JOptionPane.ERROR_MESSAGE));
                 break;
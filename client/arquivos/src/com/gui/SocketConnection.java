@@ -2,17 +2,38 @@ package com.gui;
 
 import javax.swing.*;
 import java.io.*;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
 
 /**
  * Classe responsável por estabelecer e gerenciar a conexão de socket com um servidor.
+ *
+ * Todas as mensagens passam por um único par escritor/leitor. Cada quadro enviado carrega um
+ * identificador de requisição, que o servidor devolve na resposta; assim várias requisições
+ * podem ficar em andamento no mesmo socket e cada resposta é entregue ao callback correto.
+ * O formato do quadro e a forma de leitura e escrita ficam a cargo do {@link Transport}; os quadros
+ * compactados pelo servidor, quando a compactação é negociada, são descompactados pelo {@link FrameInflater}.
  */
 public class SocketConnection {
     private final String ip; // Endereço IP do servidor
     private final int port; // Porta do servidor
-    private Socket socket; // Socket para a conexão com o servidor
-    private DataOutputStream out; // Fluxo de saída para enviar dados ao servidor
-    private DataInputStream in; // Fluxo de entrada para receber dados do servidor
+    private volatile Transport transport; // Transporte da conexão com o servidor
+    private byte[] decodeBuffer = new byte[0]; // Buffer da thread leitora para decodificar respostas de buffers diretos
+    private final BlockingQueue<Frame> outgoing = new LinkedBlockingQueue<>(); // Fila de quadros aguardando envio
+    private final Map<Integer, PendingRequest> pending = new ConcurrentHashMap<>(); // Requisições aguardando resposta
+    private final AtomicInteger nextRequestId = new AtomicInteger(1); // Gerador de ids de requisição
+    private static final Frame CLOSE = new Frame(0, 0, new byte[0]); // Sinaliza o fim da thread escritora
+    private final FrameInflater frameInflater = new FrameInflater(); // Descompactação dos quadros, usada pela thread leitora
+    private volatile ChangeListener changeListener; // Recebe as notificações de alteração do arquivo inscrito
+    private String subscribedFile; // Arquivo cujas alterações são notificadas, sem extensão
 
 
     /**
@@ -32,11 +53,18 @@ public class SocketConnection {
      * @param selectFile O arquivo selecionado para envio ao servidor.
      */
     public void connect(String selectFile) {
-        new Thread(() -> {
+        ClientExecutor.execute(() -> {
             try {
-                socket = new Socket(ip, port); // Cria um novo socket com o IP e porta especificados
-                out = new DataOutputStream(socket.getOutputStream()); // Inicializa o fluxo de saída
-                in = new DataInputStream(socket.getInputStream()); // Inicializa o fluxo de entrada
+                Transport current = Transport.open(ip, port); // Conecta com o IP e porta especificados
+                transport = current;
+
+                // Inicia o par escritor/leitor compartilhado por todas as requisições
+                ClientExecutor.execute(() -> writeLoop(current));
+                ClientExecutor.execute(() -> readLoop(current));
+                // A negociação é o primeiro quadro enviado; a partir da sua resposta o servidor pode compactar os quadros
+                if (FrameInflater.isEnabled()) {
+                    sendMessage("HELLO " + FrameInflater.ALGORITHM, IGNORED_RESPONSE);
+                }
 
                 // Executa ações na thread da interface gráfica após estabelecer a conexão
                 SwingUtilities.invokeLater(() -> {
@@ -48,7 +76,7 @@ public class SocketConnection {
                 // Em caso de erro, mostra uma mensagem de erro na interface gráfica
                 SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Falha na conexão: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE));
             }
-        }).start();
+        });
     }
 
     /**
@@ -59,10 +87,11 @@ public class SocketConnection {
      * Após o fechamento da conexão, os componentes da interface gráfica relacionados à conexão são desabilitados.
      */
     public void disconnect() {
-        new Thread(() -> {
+        ClientExecutor.execute(() -> {
             try {
-                if (socket != null && !socket.isClosed()) {
-                    socket.close();
+                if (transport != null && transport.isOpen()) {
+                    transport.close();
+                    outgoing.add(CLOSE); // Libera a thread escritora que aguarda na fila
                     SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Desconexão bem-sucedida!", "Sucesso", JOptionPane.INFORMATION_MESSAGE));
                 }
             } catch (IOException e) {
@@ -70,7 +99,7 @@ public class SocketConnection {
             } finally {
                 SwingUtilities.invokeLater(MainFrame::disableComponentsWithConnection);
             }
-        }).start();
+        });
     }
 
     /**
@@ -79,7 +108,8 @@ public class SocketConnection {
      * @return true se a conexão estiver estabelecida, caso contrário, false.
      */
     public boolean isConnected() {
-        return socket != null && socket.isConnected() && !socket.isClosed();
+        Transport current = transport;
+        return current != null && current.isOpen();
     }
 
     /**
@@ -89,33 +119,396 @@ public class SocketConnection {
      * @param callback O objeto de retorno de chamada para lidar com a resposta do servidor.
      */
     public void sendMessage(String message, ResponseCallback callback) {
-        new Thread(() -> {
-            if (isConnected()) {
-                try {
-                    byte[] messageBytes = message.getBytes();
-                    int messageLength = messageBytes.length;
-
-                    out.writeInt(messageLength); // Envia o tamanho da mensagem
-                    out.write(messageBytes); // Envia a mensagem
-                    out.flush(); // Limpa o buffer de saída
-
-                    int responseLength = in.readInt(); // Lê o tamanho da resposta
-                    byte[] responseBytes = new byte[responseLength];
-
-                    in.readFully(responseBytes); // Lê a resposta completa
-                    String response = new String(responseBytes);
-
-                    // Chama o método de sucesso do callback na thread da interface gráfica
-                    SwingUtilities.invokeLater(() -> callback.onResponse(response));
-                } catch (IOException e) {
-                    // Chama o método de falha do callback na thread da interface gráfica em caso de erro
-                    SwingUtilities.invokeLater(() -> callback.onFailure(e));
+        send(message, 0, new TextRequest(callback));
+    }
+
+    /**
+     * Envia uma consulta cuja resposta é uma lista de jogadores.
+     *
+     * O servidor transmite a resposta em partes, à medida que ela é produzida, e cada parte é decodificada
+     * diretamente dos bytes recebidos pelo {@link JsonDecoder}, na thread leitora da conexão.
+     *
+     * @param message A mensagem a ser enviada.
+     * @param callback O objeto de retorno de chamada para receber os jogadores e o status da resposta.
+     */
+    public void requestPlayers(String message, PlayersCallback callback) {
+        send(message, Transport.FLAG_STREAM, new PlayersRequest(callback));
+    }
+
+    /**
+     * Envia uma consulta condicional: se o arquivo ainda estiver na versão informada, o servidor responde
+     * apenas com o status {@link ResponseHandler#STATUS_NOT_MODIFIED}, sem os jogadores.
+     *
+     * @param message A mensagem a ser enviada.
+     * @param version A versão do arquivo em que o resultado conhecido pelo cliente foi obtido.
+     * @param callback O objeto de retorno de chamada para receber os jogadores e o status da resposta.
+     */
+    public void requestPlayersIfChanged(String message, String version, PlayersCallback callback) {
+        requestPlayers("IFCHANGED " + version + "\n" + message, callback);
+    }
+
+    /**
+     * Pede apenas os jogadores alterados em um arquivo desde a versão informada (sincronização incremental).
+     * Os jogadores inseridos ou alterados são entregues por {@link PlayersCallback#onPlayers} e os ids removidos por
+     * {@link PlayersCallback#onDeleted}. Se o arquivo não mudou, o status é {@link ResponseHandler#STATUS_NOT_MODIFIED};
+     * se o servidor não tiver o histórico desde a versão, o status é {@link ResponseHandler#STATUS_GONE} e os
+     * jogadores devem ser buscados novamente.
+     *
+     * @param fileName O nome do arquivo, sem extensão.
+     * @param version A versão do arquivo em que a cópia do cliente foi obtida.
+     * @param callback O objeto de retorno de chamada para receber as alterações e o status da resposta.
+     */
+    public void requestChanges(String fileName, String version, PlayersCallback callback) {
+        requestPlayers(String.format("DELTA %s.bin %s", fileName, version), callback);
+    }
+
+    /**
+     * Abre no servidor um cursor sobre o resultado de uma consulta, para que ele seja lido em páginas.
+     *
+     * @param query A consulta do programa de arquivos cujo resultado será paginado.
+     * @param callback O objeto de retorno de chamada para receber o cursor aberto.
+     */
+    public void openCursor(String query, CursorCallback callback) {
+        sendMessage("CURSOR OPEN\n" + query, new ResponseCallback() {
+            @Override
+            public void onResponse(String response) {
+                int status = ResponseHandler.extractStatus(response);
+                int cursorId = ResponseHandler.extractInt(response, "cursor");
+                if (status == ResponseHandler.STATUS_OK && cursorId != -1) {
+                    callback.onOpen(cursorId, ResponseHandler.extractInt(response, "total"));
+                } else {
+                    callback.onRejected(status, ResponseHandler.extractMessage(response));
                 }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                callback.onFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Lê uma página de um cursor aberto com {@link #openCursor}.
+     *
+     * @param cursorId O id do cursor.
+     * @param offset A posição do primeiro registro da página.
+     * @param limit A quantidade máxima de registros da página.
+     * @param callback O objeto de retorno de chamada para receber os jogadores da página.
+     */
+    public void fetchCursor(int cursorId, int offset, int limit, PlayersCallback callback) {
+        requestPlayers(String.format("CURSOR FETCH %d %d %d", cursorId, offset, limit), callback);
+    }
+
+    /**
+     * Procura jogadores no resultado de um cursor aberto com {@link #openCursor}. Os jogadores do cursor com os ids
+     * informados são entregues por {@link PlayersCallback#onPlayers}; os ids ausentes não faziam parte do resultado
+     * quando o cursor foi aberto.
+     *
+     * @param cursorId O id do cursor.
+     * @param playerIds Os ids procurados.
+     * @param callback O objeto de retorno de chamada para receber os jogadores encontrados.
+     */
+    public void findInCursor(int cursorId, int[] playerIds, PlayersCallback callback) {
+        StringBuilder message = new StringBuilder("CURSOR FIND ").append(cursorId);
+        for (int playerId : playerIds) {
+            message.append(' ').append(playerId);
+        }
+        requestPlayers(message.toString(), callback);
+    }
+
+    /**
+     * Fecha um cursor, liberando o resultado guardado pelo servidor.
+     *
+     * @param cursorId O id do cursor.
+     */
+    public void closeCursor(int cursorId) {
+        if (!isConnected()) {
+            return; // Os cursores são descartados pelo servidor junto com a conexão
+        }
+        sendMessage("CURSOR CLOSE " + cursorId, IGNORED_RESPONSE);
+    }
+
+    /**
+     * Inscreve a conexão nas notificações de alteração de um arquivo, cancelando a inscrição no arquivo anterior.
+     * Depois de cada remoção ou inserção feita por qualquer cliente, o servidor envia os jogadores alterados e os ids
+     * removidos, que são entregues ao listener na thread da interface gráfica.
+     *
+     * @param fileName O nome do arquivo, sem extensão.
+     * @param listener O objeto que recebe as notificações.
+     */
+    public void subscribe(String fileName, ChangeListener listener) {
+        changeListener = listener;
+        if (fileName.equals(subscribedFile)) {
+            return;
+        }
+        if (subscribedFile != null) {
+            sendMessage("UNSUBSCRIBE " + subscribedFile + ".bin", IGNORED_RESPONSE);
+        }
+        subscribedFile = fileName;
+        sendMessage("SUBSCRIBE " + fileName + ".bin", IGNORED_RESPONSE);
+    }
+
+    /**
+     * Registra a requisição e enfileira o quadro da mensagem para envio.
+     *
+     * @param message A mensagem a ser enviada.
+     * @param flags As flags do quadro.
+     * @param request A requisição que receberá a resposta.
+     */
+    private void send(String message, int flags, PendingRequest request) {
+        if (!isConnected()) {
+            // Se o socket não estiver conectado, chama o método de falha do callback
+            request.onFailure(new IOException("Socket não está conectado"));
+            return;
+        }
+
+        int requestId = nextRequestId.getAndIncrement();
+        pending.put(requestId, request); // Registra a requisição antes do envio para não perder a resposta
+        outgoing.add(new Frame(requestId, flags, message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Laço da thread escritora: retira quadros da fila e os grava no socket.
+     * Quadros acumulados na fila são gravados em sequência e enviados com um único flush.
+     *
+     * @param current O transporte ao qual este laço pertence.
+     */
+    private void writeLoop(Transport current) {
+        try {
+            while (current.isOpen()) {
+                Frame frame = outgoing.take();
+                while (frame != null && frame != CLOSE) {
+                    current.writeFrame(frame.requestId(), frame.flags(), frame.payload());
+                    frame = outgoing.poll();
+                }
+                current.flush(); // Limpa o buffer de saída
+                if (frame == CLOSE) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failPending(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Laço da thread leitora: lê as respostas do servidor e as entrega ao callback da requisição
+     * correspondente, identificada pelo id presente no quadro.
+     *
+     * @param current O transporte ao qual este laço pertence.
+     */
+    private void readLoop(Transport current) {
+        try {
+            while (current.isOpen()) {
+                current.readFrame(this::dispatch);
+            }
+        } catch (IOException e) {
+            failPending(e);
+        }
+    }
+
+    /**
+     * Entrega o conteúdo de um quadro recebido ao callback da requisição correspondente.
+     *
+     * @param requestId O id da requisição respondida.
+     * @param flags As flags do quadro.
+     * @param payload O conteúdo da resposta.
+     */
+    private void dispatch(int requestId, int flags, ByteBuffer payload) {
+        if ((flags & Transport.FLAG_DEFLATE) != 0) {
+            try {
+                payload = frameInflater.inflate(payload);
+            } catch (DataFormatException e) {
+                // Somente a requisição do quadro inválido falha; as demais continuam usando a conexão
+                PendingRequest request = pending.remove(requestId);
+                if (request != null) {
+                    request.onFailure(new IOException("Quadro compactado inválido", e));
+                }
+                return;
+            }
+        }
+        if (requestId == Transport.PUSH_REQUEST_ID) {
+            dispatchChange(payload);
+            return;
+        }
+        boolean last = (flags & Transport.FLAG_MORE) == 0;
+        // Partes intermediárias mantêm a requisição registrada até a última parte
+        PendingRequest request = last ? pending.remove(requestId) : pending.get(requestId);
+        if (request != null) {
+            request.onPart(payload, last);
+        }
+    }
+
+    /**
+     * Decodifica uma notificação de alteração e a entrega ao listener na thread da interface gráfica.
+     *
+     * @param payload O conteúdo da notificação.
+     */
+    private void dispatchChange(ByteBuffer payload) {
+        ChangeListener listener = changeListener;
+        if (listener == null) {
+            return;
+        }
+        JsonDecoder decoder;
+        try {
+            decoder = JsonDecoder.decode(payload);
+        } catch (IllegalArgumentException e) {
+            return; // Uma notificação inválida é descartada; a próxima busca traz os dados atuais
+        }
+        String fileName = decoder.getFile() != null ? decoder.getFile().replaceFirst("\\.bin$", "") : null;
+        SwingUtilities.invokeLater(() -> {
+            if (decoder.getStatus() == ResponseHandler.STATUS_OK) {
+                listener.onChange(fileName, decoder.getPlayers(), decoder.getDeletedIds());
             } else {
-                // Se o socket não estiver conectado, chama o método de falha do callback
-                SwingUtilities.invokeLater(() -> callback.onFailure(new IOException("Socket não está conectado")));
+                listener.onReset(fileName);
+            }
+        });
+    }
+
+    /**
+     * Decodifica o conteúdo de uma resposta como texto UTF-8, copiando os bytes uma única vez.
+     *
+     * @param payload O conteúdo da resposta.
+     * @return O texto da resposta.
+     */
+    private String decode(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (payload.hasArray()) {
+            return new String(payload.array(), payload.arrayOffset() + payload.position(), length, StandardCharsets.UTF_8);
+        }
+        // Buffers diretos são copiados para um buffer reaproveitado pela thread leitora
+        if (decodeBuffer.length < length) {
+            decodeBuffer = new byte[length];
+        }
+        payload.get(payload.position(), decodeBuffer, 0, length);
+        return new String(decodeBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Notifica a falha a todas as requisições ainda sem resposta e descarta os quadros não enviados.
+     *
+     * @param e A exceção que interrompeu a conexão.
+     */
+    private void failPending(IOException e) {
+        outgoing.clear();
+        for (Integer requestId : pending.keySet()) {
+            PendingRequest request = pending.remove(requestId);
+            if (request != null) {
+                request.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Requisição aguardando a resposta do servidor.
+     */
+    private interface PendingRequest {
+        /**
+         * Método chamado na thread leitora para cada parte da resposta.
+         *
+         * @param payload O conteúdo da parte, válido apenas durante a chamada.
+         * @param last Indica se esta é a última parte da resposta.
+         */
+        void onPart(ByteBuffer payload, boolean last);
+
+        /**
+         * Método chamado quando a requisição falha.
+         *
+         * @param e A exceção que ocorreu.
+         */
+        void onFailure(Exception e);
+    }
+
+    /**
+     * Requisição cuja resposta é entregue como texto, de uma só vez.
+     */
+    private class TextRequest implements PendingRequest {
+        private final ResponseCallback callback;
+
+        TextRequest(ResponseCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onPart(ByteBuffer payload, boolean last) {
+            // Requisições de texto não pedem resposta em partes, então apenas a última parte é esperada
+            if (last) {
+                String response = decode(payload);
+                // Chama o método de sucesso do callback na thread da interface gráfica
+                SwingUtilities.invokeLater(() -> callback.onResponse(response));
             }
-        }).start();
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            // Chama o método de falha do callback na thread da interface gráfica
+            SwingUtilities.invokeLater(() -> callback.onFailure(e));
+        }
+    }
+
+    /**
+     * Requisição cuja resposta é uma lista de jogadores decodificada parte a parte.
+     *
+     * A requisição termina uma única vez, com {@link PlayersCallback#onComplete} ou com
+     * {@link PlayersCallback#onFailure}; depois de uma falha de decodificação, as partes que ainda chegarem são
+     * descartadas.
+     */
+    private static class PlayersRequest implements PendingRequest {
+        private final PlayersCallback callback;
+        private final JsonDecoder decoder = new JsonDecoder();
+        private final AtomicBoolean finished = new AtomicBoolean(); // Indica se a requisição já foi concluída ou falhou
+
+        PlayersRequest(PlayersCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onPart(ByteBuffer payload, boolean last) {
+            if (finished.get()) {
+                return;
+            }
+            try {
+                List<Player> players = decoder.feed(payload);
+                if (!players.isEmpty()) {
+                    callback.onPlayers(players);
+                }
+            } catch (IllegalArgumentException e) {
+                onFailure(e);
+                return;
+            }
+            if (last && finished.compareAndSet(false, true)) {
+                int status = decoder.getStatus();
+                String message = decoder.getMessage();
+                String version = decoder.getVersion();
+                int[] deletedIds = decoder.getDeletedIds();
+                SwingUtilities.invokeLater(() -> {
+                    callback.onDeleted(deletedIds);
+                    callback.onVersion(version);
+                    callback.onComplete(status, message);
+                });
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            // A falha também pode vir da thread escritora, ao perder a conexão, enquanto uma parte é decodificada
+            if (finished.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> callback.onFailure(e));
+            }
+        }
+    }
+
+    /**
+     * Quadro aguardando envio ao servidor.
+     *
+     * @param requestId O id da requisição.
+     * @param flags As flags do quadro.
+     * @param payload O conteúdo da mensagem.
+     */
+    private record Frame(int requestId, int flags, byte[] payload) {
     }
 
     /**
@@ -136,4 +529,115 @@ public class SocketConnection {
          */
         void onFailure(Exception e);
     }
-}
\ No newline at end of file
+
+    /**
+     * Callback para as respostas que não precisam ser tratadas, como as de inscrição.
+     */
+    private static final ResponseCallback IGNORED_RESPONSE = new ResponseCallback() {
+        @Override
+        public void onResponse(String response) {
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+        }
+    };
+
+    /**
+     * Interface que define um callback para consultas cuja resposta é uma lista de jogadores.
+     */
+    public interface PlayersCallback {
+        /**
+         * Método chamado a cada grupo de jogadores decodificados, na ordem da resposta.
+         * É executado na thread leitora da conexão; alterações na interface gráfica devem ser agendadas na thread de eventos.
+         *
+         * @param players Os jogadores decodificados.
+         */
+        void onPlayers(List<Player> players);
+
+        /**
+         * Método chamado, na thread da interface gráfica, quando a resposta termina.
+         *
+         * @param status O código de status da resposta.
+         * @param message A mensagem da resposta, quando o payload não é uma lista; caso contrário, null.
+         */
+        void onComplete(int status, String message);
+
+        /**
+         * Método chamado, na thread da interface gráfica e antes de {@link #onComplete}, com a versão do arquivo
+         * informada na resposta. Por padrão a versão é ignorada.
+         *
+         * @param version A versão do arquivo em que a resposta foi produzida, ou null se o servidor não a informou.
+         */
+        default void onVersion(String version) {
+        }
+
+        /**
+         * Método chamado, na thread da interface gráfica e antes de {@link #onVersion}, com os ids dos jogadores
+         * removidos informados por uma sincronização incremental. Por padrão os ids são ignorados.
+         *
+         * @param playerIds Os ids removidos, ou um vetor vazio se a resposta não os contiver.
+         */
+        default void onDeleted(int[] playerIds) {
+        }
+
+        /**
+         * Método chamado quando ocorre uma falha na operação.
+         *
+         * @param e A exceção que ocorreu.
+         */
+        void onFailure(Exception e);
+    }
+
+    /**
+     * Interface que define um callback para a abertura de um cursor no servidor.
+     * Os métodos são executados na thread da interface gráfica.
+     */
+    public interface CursorCallback {
+        /**
+         * Método chamado quando o cursor é aberto.
+         *
+         * @param cursorId O id do cursor.
+         * @param totalRows A quantidade de registros do resultado.
+         */
+        void onOpen(int cursorId, int totalRows);
+
+        /**
+         * Método chamado quando o servidor não abre o cursor, por exemplo quando a consulta não tem resultados.
+         *
+         * @param status O código de status da resposta.
+         * @param message A mensagem da resposta.
+         */
+        void onRejected(int status, String message);
+
+        /**
+         * Método chamado quando ocorre uma falha na operação.
+         *
+         * @param e A exceção que ocorreu.
+         */
+        void onFailure(Exception e);
+    }
+
+    /**
+     * Interface que recebe as notificações de alteração do arquivo inscrito com {@link #subscribe}.
+     * Os métodos são executados na thread da interface gráfica.
+     */
+    public interface ChangeListener {
+        /**
+         * Método chamado quando jogadores do arquivo são inseridos, alterados ou removidos.
+         *
+         * @param fileName O nome do arquivo alterado, sem extensão.
+         * @param changedPlayers Os dados atuais dos jogadores inseridos ou alterados.
+         * @param deletedIds Os ids dos jogadores removidos.
+         */
+        void onChange(String fileName, List<Player> changedPlayers, int[] deletedIds);
+
+        /**
+         * Método chamado quando o arquivo é alterado sem que os jogadores afetados sejam conhecidos,
+         * como ao ser recriado a partir do CSV; os jogadores exibidos devem ser buscados novamente.
+         *
+         * @param fileName O nome do arquivo alterado, sem extensão.
+         */
+        void onReset(String fileName);
+    }
+}
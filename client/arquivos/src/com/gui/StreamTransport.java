@@ -0,0 +1,64 @@
+package com.gui;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Transporte baseado em {@link Socket} e fluxos bloqueantes.
+ * O buffer de leitura é reaproveitado entre as respostas e só cresce quando necessário.
+ */
+public class StreamTransport implements Transport {
+    private final Socket socket; // Socket para a conexão com o servidor
+    private final DataOutputStream out; // Fluxo de saída para enviar dados ao servidor
+    private final DataInputStream in; // Fluxo de entrada para receber dados do servidor
+    private byte[] readBuffer = new byte[8192]; // Buffer reaproveitado para o conteúdo das respostas
+
+    /**
+     * Conecta ao servidor especificado pelo endereço IP e porta.
+     *
+     * @param ip O endereço IP do servidor.
+     * @param port A porta do servidor.
+     * @throws IOException Se a conexão não puder ser estabelecida.
+     */
+    public StreamTransport(String ip, int port) throws IOException {
+        socket = new Socket(ip, port);
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    @Override
+    public void writeFrame(int requestId, int flags, byte[] payload) throws IOException {
+        out.writeInt(payload.length); // Envia o tamanho da mensagem
+        out.writeInt(requestId); // Envia o id da requisição
+        out.writeByte(flags); // Envia as flags do quadro
+        out.write(payload); // Envia a mensagem
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void readFrame(FrameHandler handler) throws IOException {
+        int responseLength = in.readInt(); // Lê o tamanho da resposta
+        int requestId = in.readInt(); // Lê o id da requisição respondida
+        int flags = in.readUnsignedByte(); // Lê as flags do quadro
+        if (readBuffer.length < responseLength) {
+            readBuffer = new byte[Math.max(responseLength, readBuffer.length * 2)];
+        }
+        in.readFully(readBuffer, 0, responseLength); // Lê a resposta completa
+        handler.onFrame(requestId, flags, ByteBuffer.wrap(readBuffer, 0, responseLength));
+    }
+
+    @Override
+    public boolean isOpen() {
+        return socket.isConnected() && !socket.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
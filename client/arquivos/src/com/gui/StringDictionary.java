@@ -0,0 +1,84 @@
+package com.gui;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário que associa cada texto distinto a um código inteiro.
+ *
+ * Nacionalidades e clubes se repetem milhares de vezes em cada ano FIFA; guardando apenas o código
+ * em cada linha, todos os resultados carregados compartilham uma única instância de cada texto.
+ *
+ * Os textos são decodificados a cada célula desenhada pela tabela, enquanto um texto novo só é registrado
+ * raramente; por isso a decodificação lê, sem trava, um vetor que é substituído por uma cópia a cada registro.
+ */
+public class StringDictionary {
+    /**
+     * Dicionário compartilhado das nacionalidades.
+     */
+    public static final StringDictionary NATIONALITIES = new StringDictionary();
+    /**
+     * Dicionário compartilhado dos nomes de clube.
+     */
+    public static final StringDictionary CLUBS = new StringDictionary();
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>(); // Código de cada texto
+    private final Object lock = new Object(); // Trava dos registros de textos novos
+    private volatile String[] values = new String[0]; // Texto de cada código, substituído a cada registro
+
+    /**
+     * Retorna o código de um texto, registrando-o se ainda não existir.
+     *
+     * @param value O texto a ser codificado; nulo é tratado como texto vazio.
+     * @return O código do texto.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            value = "";
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (lock) {
+            return codes.computeIfAbsent(value, v -> {
+                // O vetor com o novo texto é publicado antes do código, que só então fica visível no mapa
+                String[] copy = Arrays.copyOf(values, values.length + 1);
+                copy[copy.length - 1] = v;
+                values = copy;
+                return copy.length - 1;
+            });
+        }
+    }
+
+    /**
+     * Retorna o código de um texto já registrado, sem registrá-lo.
+     *
+     * @param value O texto procurado.
+     * @return O código do texto, ou -1 se ele não estiver no dicionário.
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * Retorna o texto associado a um código.
+     *
+     * @param code O código do texto.
+     * @return O texto correspondente.
+     */
+    public String decode(int code) {
+        return values[code];
+    }
+
+    /**
+     * Retorna a quantidade de textos distintos registrados.
+     *
+     * @return O tamanho do dicionário.
+     */
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.gui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Transporte de quadros entre o cliente e o servidor.
+ *
+ * Cada quadro é formado pelo tamanho do conteúdo (int), o id da requisição (int), um byte de flags
+ * e o conteúdo, todos em big-endian. A implementação é escolhida pela propriedade de sistema {@code fifa.transport}:
+ * {@code socket} (padrão) usa fluxos bloqueantes e {@code nio} usa {@link NioTransport}.
+ */
+public interface Transport extends Closeable {
+    /**
+     * Tamanho do cabeçalho de cada quadro, em bytes.
+     */
+    int HEADER_SIZE = 9;
+    /**
+     * Flag de requisição: pede que a resposta seja enviada em partes, à medida que é produzida.
+     */
+    int FLAG_STREAM = 0x01;
+    /**
+     * Flag de resposta: o quadro é uma parte intermediária e outras partes ainda virão.
+     */
+    int FLAG_MORE = 0x02;
+    /**
+     * Flag de resposta: o conteúdo do quadro está compactado (veja {@link FrameInflater}).
+     */
+    int FLAG_DEFLATE = 0x04;
+    /**
+     * Id dos quadros de notificação enviados pelo servidor sem uma requisição; as requisições são numeradas a partir de 1.
+     */
+    int PUSH_REQUEST_ID = 0;
+
+    /**
+     * Abre o transporte configurado para o servidor informado.
+     *
+     * @param ip O endereço IP do servidor.
+     * @param port A porta do servidor.
+     * @return O transporte conectado.
+     * @throws IOException Se a conexão não puder ser estabelecida.
+     */
+    static Transport open(String ip, int port) throws IOException {
+        if ("nio".equals(System.getProperty("fifa.transport"))) {
+            return new NioTransport(ip, port);
+        }
+        return new StreamTransport(ip, port);
+    }
+
+    /**
+     * Grava um quadro. O envio efetivo pode aguardar a próxima chamada a {@link #flush()}.
+     *
+     * @param requestId O id da requisição.
+     * @param flags As flags do quadro.
+     * @param payload O conteúdo do quadro.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    void writeFrame(int requestId, int flags, byte[] payload) throws IOException;
+
+    /**
+     * Envia os quadros gravados que ainda estão em buffer.
+     *
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Lê o próximo quadro e o entrega ao handler. O buffer entregue pertence ao transporte
+     * e só é válido durante a chamada.
+     *
+     * @param handler O handler que recebe o quadro lido.
+     * @throws IOException Se ocorrer um erro de leitura ou a conexão for encerrada.
+     */
+    void readFrame(FrameHandler handler) throws IOException;
+
+    /**
+     * Verifica se o transporte ainda está aberto.
+     *
+     * @return true se o transporte estiver aberto, caso contrário, false.
+     */
+    boolean isOpen();
+
+    /**
+     * Interface que recebe os quadros lidos pelo transporte.
+     */
+    interface FrameHandler {
+        /**
+         * Método chamado para cada quadro lido.
+         *
+         * @param requestId O id da requisição respondida.
+         * @param flags As flags do quadro.
+         * @param payload O conteúdo do quadro, posicionado no início.
+         */
+        void onFrame(int requestId, int flags, ByteBuffer payload);
+    }
+}
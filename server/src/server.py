@@ -1,19 +1,986 @@
 import socket
 import subprocess
 import os
+import mmap
 import struct
 import sys
 import argparse
+import re
+import bisect
+import threading
+import zlib
+import time
+import queue
+from collections import OrderedDict, deque
+from contextlib import contextmanager, nullcontext
 
-def start_server(host='127.0.0.1', port=8080):
+# Cabeçalho de cada quadro (big-endian): tamanho do conteúdo, id da requisição e flags.
+FRAME_HEADER = struct.Struct('>IIB')
+# Flag de requisição: a resposta deve ser enviada em partes, à medida que é produzida.
+FLAG_STREAM = 0x01
+# Flag de resposta: o quadro é uma parte intermediária e outras partes ainda virão.
+FLAG_MORE = 0x02
+# Flag de resposta: o conteúdo do quadro está compactado (deflate sem cabeçalho, com COMPRESSION_DICTIONARY).
+FLAG_DEFLATE = 0x04
+# Quantidade máxima de bytes lidos da saída do processo filho por vez no modo em partes.
+STREAM_CHUNK_SIZE = 64 * 1024
+# Separador entre dois registros na saída do processo filho.
+RECORD_SEPARATOR = b'},{'
+# Palavra-chave dos comandos de cursor, tratados pelo próprio servidor.
+CURSOR_COMMAND = 'CURSOR'
+# Quantidade máxima de cursores abertos por conexão; o usado há mais tempo pela própria conexão é descartado.
+MAX_OPEN_CURSORS = 16
+# Palavra-chave do comando de atualização, que substitui um registro em uma única requisição.
+UPSERT_COMMAND = 'UPSERT'
+# Palavra-chave do comando de remoção em lote, executado pelo próprio servidor em uma única passada.
+DELETE_COMMAND = 'DELETE'
+# Prefixo de uma busca condicional: a resposta completa só é enviada se a versão do arquivo for diferente.
+IF_CHANGED_COMMAND = 'IFCHANGED'
+# Palavra-chave da sincronização incremental, que envia apenas os registros alterados desde uma versão.
+DELTA_COMMAND = 'DELTA'
+# Quantidade de alterações de cada arquivo mantidas no histórico usado pela sincronização incremental.
+MAX_CHANGES_PER_FILE = 1000
+# Palavras-chave dos comandos que inscrevem e desinscrevem a conexão nas notificações de alteração de um arquivo.
+SUBSCRIBE_COMMAND = 'SUBSCRIBE'
+UNSUBSCRIBE_COMMAND = 'UNSUBSCRIBE'
+# Id dos quadros de notificação enviados pelo servidor sem uma requisição; o cliente numera as requisições a partir de 1.
+PUSH_REQUEST_ID = 0
+# Palavra-chave da negociação feita pelo cliente ao conectar, com os algoritmos de compactação que ele aceita.
+HELLO_COMMAND = 'HELLO'
+# Algoritmo de compactação de quadros aceito pelo servidor.
+COMPRESSION_ALGORITHM = 'deflate'
+# Tamanho mínimo, em bytes, de um quadro compactado; quadros menores são enviados como estão.
+COMPRESSION_MIN_SIZE = 256
+# Dicionário inicial da compactação, com os trechos que mais se repetem nas respostas. Deve ser idêntico ao do cliente
+# (FrameInflater.DICTIONARY); os trechos mais frequentes ficam no final, mais perto dos dados compactados.
+COMPRESSION_DICTIONARY = (
+    '{"payload":"","status":404}{"payload":[],"deleted":[],"status":200,"version":""}'
+    '"nacionalidade":"ITALY","nacionalidade":"BRAZIL","nacionalidade":"ARGENTINA","nacionalidade":"FRANCE",'
+    '"nacionalidade":"SPAIN","nacionalidade":"GERMANY","nacionalidade":"ENGLAND",'
+    '{"id":,"idade": ,"nomeJogador":"","nacionalidade":"","nomeClube":"null"},'
+).encode()
+# Status de uma resposta do programa de arquivos.
+STATUS_PATTERN = re.compile(rb'"status":\s*(\d+)')
+# Cabeçalho do arquivo de dados (little-endian): status, topo, proxByteOffset, nroRegArq e nroRegRem.
+DATA_HEADER = struct.Struct('<cqqii')
+# Início de cada registro: removido, tamanhoRegistro, prox e id.
+RECORD_HEADER = struct.Struct('<ciqi')
+# Entrada do arquivo de índice: id e byte offset do registro.
+INDEX_ENTRY = struct.Struct('<iq')
+# Funcionalidade do programa de arquivos que cria o índice primário; os índices secundários são criados junto.
+CREATE_INDEX_COMMAND = '4'
+# Campos com índice secundário: posição do texto no registro e sufixo do arquivo do índice (ex.: FIFA23IndiceClube.bin).
+SECONDARY_INDEX_FIELDS = {'nacionalidade': (1, 'IndiceNacionalidade.bin'), 'nomeClube': (2, 'IndiceClube.bin')}
+# Cabeçalho do índice secundário: status, data de modificação e tamanho do arquivo indexado e quantidade de valores.
+SECONDARY_INDEX_HEADER = struct.Struct('<cqqi')
+# Sufixo do registro das alterações aplicadas aos índices secundários depois de salvos (ex.: FIFA23IndiceLog.bin).
+SECONDARY_LOG_SUFFIX = 'IndiceLog.bin'
+# Cabeçalho do registro de alterações: data de modificação e tamanho do arquivo quando os índices foram salvos.
+SECONDARY_LOG_HEADER = struct.Struct('<qq')
+# Cada alteração registrada: tamanho das operações, data de modificação e tamanho do arquivo depois da alteração
+# e quantidade de operações.
+SECONDARY_LOG_ENTRY = struct.Struct('<iqqi')
+# Cada operação: id e byte offset atual do registro, ou -1 se foi removido; seguem os valores dos campos indexados.
+SECONDARY_LOG_OPERATION = struct.Struct('<iq')
+# Tamanho do registro de alterações a partir do qual os índices são salvos de novo e o registro recomeça.
+SECONDARY_LOG_MAX_BYTES = 1024 * 1024
+# Campos aceitos nas condições de uma busca, indicando se o valor é um texto entre aspas.
+SEARCH_FIELDS = {'id': False, 'idade': False, 'nomeJogador': True, 'nacionalidade': True, 'nomeClube': True}
+# Condição de uma busca: nome do campo seguido de um texto entre aspas ou de um número.
+SEARCH_CONDITION = re.compile(r'\s*(\w+)\s+(?:"([^"]*)"|(-?\d+))')
+# Quantidade padrão de clientes conectados ao mesmo tempo; as conexões excedentes são recusadas.
+DEFAULT_WORKERS = 64
+# Espera máxima, em segundos, pela primeira requisição de uma conexão recusada, respondida com o status 503.
+REFUSE_TIMEOUT = 5
+# Bytes enfileirados para envio a partir dos quais a conexão deixa de ler requisições até o cliente ler as respostas.
+MAX_QUEUED_BYTES = 16 * 1024 * 1024
+# Espera máxima, em segundos, pelo envio dos quadros ainda enfileirados quando a conexão é encerrada.
+SEND_DRAIN_TIMEOUT = 5
+# Funcionalidades do programa de arquivos que apenas leem o arquivo de dados.
+READ_COMMANDS = ('2', '3')
+# Quantidade padrão de processos do programa de arquivos mantidos prontos.
+DEFAULT_ENGINES = 4
+# Espera antes de repor um processo do pool, para que a resposta do comando seja enviada primeiro.
+ENGINE_REFILL_DELAY = 0.002
+# Tamanho padrão do cache de respostas das buscas, em megabytes.
+DEFAULT_CACHE_MB = 64
+# Identifica esta execução do servidor nas versões enviadas aos clientes, pois os contadores de alterações recomeçam.
+SERVER_INSTANCE = f'{time.time_ns():x}'
+
+class ReadWriteLock:
+    """
+    Trava de leitura e escrita de um arquivo de dados.
+
+    Várias leituras podem acontecer ao mesmo tempo; uma escrita é exclusiva. Uma escrita aguardando
+    impede que novas leituras comecem, para que alterações não esperem indefinidamente.
+    """
+
+    def __init__(self):
+        self._condition = threading.Condition()
+        self._readers = 0
+        self._writer = False
+        self._waiting_writers = 0
+
+    @contextmanager
+    def read(self):
+        with self._condition:
+            while self._writer or self._waiting_writers:
+                self._condition.wait()
+            self._readers += 1
+        try:
+            yield
+        finally:
+            with self._condition:
+                self._readers -= 1
+                if not self._readers:
+                    self._condition.notify_all()
+
+    @contextmanager
+    def write(self):
+        with self._condition:
+            self._waiting_writers += 1
+            while self._writer or self._readers:
+                self._condition.wait()
+            self._waiting_writers -= 1
+            self._writer = True
+        try:
+            yield
+        finally:
+            with self._condition:
+                self._writer = False
+                self._condition.notify_all()
+
+# Travas de cada arquivo de dados, criadas no primeiro uso.
+file_locks = {}
+file_locks_guard = threading.Lock()
+
+class EnginePool:
+    """
+    Processos do programa de arquivos já iniciados, aguardando o comando na entrada padrão.
+
+    O programa executa um único comando por processo e encerra ao fim da entrada, então não é possível
+    manter um processo com o arquivo e o índice carregados entre requisições. O pool retira do caminho da
+    requisição a criação do processo e a carga do executável: cada comando recebe um processo pronto e,
+    pouco depois do fim do comando, uma thread em segundo plano inicia outro para repor o que foi usado
+    (repor antes disso faria a criação do processo disputar o processador com o comando e com o envio da
+    resposta). Um processo parado ainda não abriu nenhum arquivo, pois só conhece o arquivo ao ler o comando.
+    """
+
+    def __init__(self, exec_path, cwd, size):
+        self.exec_path = exec_path
+        self.cwd = cwd
+        self._ready = queue.Queue()
+        self._refills = queue.Queue()
+        self._closed = False
+        for _ in range(size):
+            self._refills.put(None)
+        threading.Thread(target=self._refill, name='engine-pool', daemon=True).start()
+
+    @contextmanager
+    def process(self):
+        """
+        Fornece um processo pronto, ou inicia um na hora se todos estiverem em uso, e repõe o pool ao final.
+
+        Yields:
+            subprocess.Popen: O processo, com entrada, saída e erro padrão em pipes.
+        """
+        process = None
+        while process is None:
+            try:
+                process = self._ready.get_nowait()
+            except queue.Empty:
+                # Todos em uso: o processo criado na hora não é reposto, para o pool não crescer em picos
+                with self._spawn() as process:
+                    yield process
+                return
+            if process.poll() is not None:
+                # Encerrado enquanto aguardava; é substituído sem atrasar a requisição
+                self._refills.put(None)
+                process = None
+        try:
+            with process:
+                yield process
+        finally:
+            self._refills.put(None)
+
+    def close(self):
+        """
+        Encerra os processos parados e interrompe a reposição.
+        """
+        self._closed = True
+        self._refills.put(None)
+        while True:
+            try:
+                self._ready.get_nowait().kill()
+            except queue.Empty:
+                break
+
+    def _refill(self):
+        while True:
+            self._refills.get()
+            time.sleep(ENGINE_REFILL_DELAY)
+            if self._closed:
+                return
+            try:
+                self._ready.put(self._spawn())
+            except OSError as e:
+                print(f"Error starting engine process: {e}")
+
+    def _spawn(self):
+        return subprocess.Popen([self.exec_path], cwd=self.cwd, stdin=subprocess.PIPE, stdout=subprocess.PIPE, stderr=subprocess.PIPE)
+
+# Pools de processos de cada executável e diretório, criados no primeiro uso.
+engine_pools = {}
+engine_pools_guard = threading.Lock()
+engine_pool_size = DEFAULT_ENGINES
+
+def engine_pool(exec_path, cwd):
+    """
+    Retorna o pool de processos do executável no diretório informado.
+
+    Args:
+        exec_path (str): O caminho do programa de arquivos.
+        cwd (str): O diretório de trabalho dos processos.
+
+    Returns:
+        EnginePool: O pool, criado e preenchido no primeiro uso.
+    """
+    with engine_pools_guard:
+        pool = engine_pools.get((exec_path, cwd))
+        if pool is None:
+            pool = engine_pools[(exec_path, cwd)] = EnginePool(exec_path, cwd, engine_pool_size)
+        return pool
+
+class ResponseCache:
+    """
+    Cache das respostas das buscas, indexado pelo arquivo de dados e pelo texto do comando.
+
+    Cada resposta guarda a versão do arquivo em que foi produzida (veja file_version) e só é usada enquanto o
+    arquivo continuar na mesma versão. Os comandos que alteram um arquivo também descartam todas as suas respostas
+    e incrementam o contador de alterações do arquivo, que faz parte da versão. O tamanho é limitado pelo total de bytes guardados; ao passar do limite, as respostas usadas
+    há mais tempo são descartadas.
+    """
+
+    def __init__(self, max_bytes):
+        self.max_bytes = max_bytes
+        self._entries = OrderedDict()
+        self._size = 0
+        self._changes = {}
+        self._lock = threading.Lock()
+
+    def get(self, data_file, command, version):
+        """
+        Retorna a resposta guardada de um comando, se ela corresponder à versão atual do arquivo.
+
+        Args:
+            data_file (str): O arquivo de dados do comando.
+            command (str): O texto do comando.
+            version (tuple): A versão atual do arquivo.
+
+        Returns:
+            bytes or None: A resposta guardada, ou None se não houver resposta válida.
+        """
+        key = (data_file, command)
+        with self._lock:
+            entry = self._entries.get(key)
+            if entry is None:
+                return None
+            if entry[0] != version:
+                self._remove(key)
+                return None
+            self._entries.move_to_end(key)
+            return entry[1]
+
+    def put(self, data_file, command, version, output):
+        """
+        Guarda a resposta de um comando produzida na versão informada do arquivo.
+
+        Args:
+            data_file (str): O arquivo de dados do comando.
+            command (str): O texto do comando.
+            version (tuple): A versão do arquivo em que o comando foi executado.
+            output (bytes): A resposta completa.
+        """
+        if len(output) > self.max_bytes:
+            return
+        key = (data_file, command)
+        with self._lock:
+            self._remove(key)
+            self._entries[key] = (version, output)
+            self._size += len(output)
+            while self._size > self.max_bytes:
+                self._remove(next(iter(self._entries)))
+
+    def invalidate(self, data_file):
+        """
+        Descarta todas as respostas de um arquivo de dados e conta mais uma alteração do arquivo.
+
+        Args:
+            data_file (str): O arquivo alterado.
+        """
+        with self._lock:
+            self._changes[data_file] = self._changes.get(data_file, 0) + 1
+            for key in [key for key in self._entries if key[0] == data_file]:
+                self._remove(key)
+
+    def changes(self, data_file):
+        """
+        Retorna quantas alterações de um arquivo foram feitas por esta execução do servidor.
+
+        Args:
+            data_file (str): O arquivo de dados.
+
+        Returns:
+            int: O número de alterações.
+        """
+        with self._lock:
+            return self._changes.get(data_file, 0)
+
+    def _remove(self, key):
+        entry = self._entries.pop(key, None)
+        if entry is not None:
+            self._size -= len(entry[1])
+
+# Respostas das buscas, compartilhadas por todos os clientes.
+response_cache = ResponseCache(DEFAULT_CACHE_MB * 1024 * 1024)
+
+class FileChange:
+    """
+    Ids dos registros afetados por uma alteração de um arquivo de dados (veja file_change).
+
+    Attributes:
+        player_ids (set): Os ids removidos, inseridos ou substituídos.
+        complete (bool): False se a alteração pode ter afetado registros que não estão em player_ids.
+    """
+
+    def __init__(self):
+        self.player_ids = set()
+        self.complete = True
+
+class ChangeLog:
+    """
+    Histórico recente das alterações de cada arquivo de dados, usado pela sincronização incremental.
+
+    Cada alteração guarda a versão do arquivo antes e depois de ser aplicada (veja version_stamp) e os ids
+    dos registros afetados. As versões formam uma cadeia: a partir da versão conhecida por um cliente, os ids
+    de todas as alterações seguintes são reunidos, desde que a cadeia chegue sem interrupção à versão atual e
+    todas as alterações tenham ids conhecidos. Somente as últimas alterações de cada arquivo são mantidas.
+    """
+
+    def __init__(self, max_entries):
+        self.max_entries = max_entries
+        self._entries = {}
+        self._lock = threading.Lock()
+
+    def record(self, data_file, before, after, change):
+        """
+        Acrescenta uma alteração ao histórico de um arquivo.
+
+        Args:
+            data_file (str): O arquivo alterado.
+            before (str or None): A versão do arquivo antes da alteração.
+            after (str or None): A versão do arquivo depois da alteração.
+            change (FileChange): Os ids afetados pela alteração.
+        """
+        player_ids = frozenset(change.player_ids) if change.complete else None
+        with self._lock:
+            entries = self._entries.setdefault(data_file, deque(maxlen=self.max_entries))
+            entries.append((before, after, player_ids))
+
+    def since(self, data_file, stamp, current):
+        """
+        Reúne os ids afetados pelas alterações de um arquivo desde uma versão.
+
+        Args:
+            data_file (str): O arquivo de dados.
+            stamp (str): A versão conhecida pelo cliente.
+            current (str): A versão atual do arquivo.
+
+        Returns:
+            set or None: Os ids afetados, ou None se o histórico não cobrir todas as alterações desde a versão.
+        """
+        with self._lock:
+            entries = list(self._entries.get(data_file, ()))
+        start = next((position for position, entry in enumerate(entries) if entry[0] == stamp), None)
+        if start is None:
+            return None
+        player_ids = set()
+        expected = stamp
+        for before, after, changed_ids in entries[start:]:
+            if before != expected or changed_ids is None:
+                return None
+            player_ids |= changed_ids
+            expected = after
+        return player_ids if expected == current else None
+
+# Alterações recentes dos arquivos de dados, compartilhadas por todos os clientes.
+change_log = ChangeLog(MAX_CHANGES_PER_FILE)
+
+class Subscriptions:
+    """
+    Conexões inscritas para receber as notificações de alteração de cada arquivo de dados.
+
+    Cada conexão é representada pelo seu FrameSender, pois as notificações são enfileiradas pela thread do
+    cliente que fez a alteração, enquanto a thread da própria conexão pode estar enfileirando uma resposta.
+    """
+
+    def __init__(self):
+        self._subscribers = {}
+        self._lock = threading.Lock()
+
+    def add(self, data_file, sender):
+        """
+        Inscreve uma conexão nas notificações de um arquivo.
+
+        Args:
+            data_file (str): O arquivo de dados.
+            sender (FrameSender): O envio de quadros da conexão.
+        """
+        with self._lock:
+            self._subscribers.setdefault(data_file, set()).add(sender)
+
+    def remove(self, data_file, sender):
+        """
+        Desinscreve uma conexão das notificações de um arquivo.
+
+        Args:
+            data_file (str): O arquivo de dados.
+            sender (FrameSender): O envio de quadros da conexão.
+        """
+        with self._lock:
+            self._subscribers.get(data_file, set()).discard(sender)
+
+    def remove_connection(self, sender):
+        """
+        Desinscreve uma conexão de todos os arquivos, quando ela é encerrada.
+
+        Args:
+            sender (FrameSender): O envio de quadros da conexão.
+        """
+        with self._lock:
+            for subscribers in self._subscribers.values():
+                subscribers.discard(sender)
+
+    def subscribers(self, data_file):
+        """
+        Retorna as conexões inscritas em um arquivo.
+
+        Args:
+            data_file (str): O arquivo de dados.
+
+        Returns:
+            list: O FrameSender de cada conexão inscrita.
+        """
+        with self._lock:
+            return list(self._subscribers.get(data_file, ()))
+
+# Conexões inscritas nas notificações de alteração, compartilhadas por todos os clientes.
+subscriptions = Subscriptions()
+
+class CursorStore:
+    """
+    Cursores abertos pelas conexões, com os registros do resultado de cada um (veja handle_cursor_command).
+
+    O resultado de um cursor é produzido e guardado por completo na abertura, então a memória do servidor e o tempo
+    de abertura crescem com o tamanho do resultado; somente o cliente lê os registros em páginas. A quantidade de
+    cursores é limitada por conexão: ao passar do limite, o cursor usado há mais tempo pela própria conexão é
+    descartado, de modo que uma conexão nunca descarta os cursores de outra. Cada cursor só é acessível pela conexão
+    que o abriu, e os cursores de uma conexão são descartados quando ela é encerrada.
+    """
+
+    def __init__(self, max_cursors):
+        self.max_cursors = max_cursors
+        self._cursors = {}
+        self._next_id = 1
+        self._lock = threading.Lock()
+
+    def open(self, owner, records):
+        """
+        Guarda os registros de um novo cursor.
+
+        Args:
+            owner (object): A conexão que abriu o cursor.
+            records (list): Os registros do resultado.
+
+        Returns:
+            int: O id do cursor.
+        """
+        with self._lock:
+            cursor_id = self._next_id
+            self._next_id += 1
+            cursors = self._cursors.setdefault(owner, OrderedDict())
+            cursors[cursor_id] = records
+            while len(cursors) > self.max_cursors:
+                cursors.popitem(last=False)
+            return cursor_id
+
+    def get(self, owner, cursor_id):
+        """
+        Retorna os registros de um cursor da conexão, marcando-o como usado.
+
+        Args:
+            owner (object): A conexão que abriu o cursor.
+            cursor_id (int): O id do cursor.
+
+        Returns:
+            list or None: Os registros, ou None se o cursor não existir ou já tiver sido descartado.
+        """
+        with self._lock:
+            cursors = self._cursors.get(owner)
+            records = cursors.get(cursor_id) if cursors is not None else None
+            if records is not None:
+                cursors.move_to_end(cursor_id)
+            return records
+
+    def close(self, owner, cursor_id):
+        """
+        Descarta um cursor da conexão.
+
+        Args:
+            owner (object): A conexão que abriu o cursor.
+            cursor_id (int): O id do cursor.
+        """
+        with self._lock:
+            cursors = self._cursors.get(owner)
+            if cursors is not None:
+                cursors.pop(cursor_id, None)
+                if not cursors:
+                    del self._cursors[owner]
+
+    def close_all(self, owner):
+        """
+        Descarta todos os cursores de uma conexão, quando ela é encerrada.
+
+        Args:
+            owner (object): A conexão.
+        """
+        with self._lock:
+            self._cursors.pop(owner, None)
+
+# Cursores abertos, compartilhados por todas as conexões.
+cursor_store = CursorStore(MAX_OPEN_CURSORS)
+
+class FrameSender:
+    """
+    Envio dos quadros de uma conexão, feito por uma thread própria.
+
+    Os quadros são enfileirados pela thread da conexão ou, no caso das notificações, pela thread de outro cliente,
+    muitas vezes com a trava de um arquivo de dados. Enfileirar nunca espera pela rede: somente a thread de envio
+    grava no socket, então um cliente que deixa de ler atrasa apenas a própria conexão, e não as travas dos arquivos.
+    Os quadros são enviados na ordem em que foram enfileirados. Se o cliente negociou a compactação (veja
+    handle_hello_command), os quadros a partir de COMPRESSION_MIN_SIZE bytes são compactados individualmente pela
+    thread de envio e enviados com a flag FLAG_DEFLATE.
+
+    Attributes:
+        conn (socket): O socket do cliente.
+        compress (bool): Indica se os quadros enfileirados a partir de agora devem ser compactados.
+    """
+
+    def __init__(self, conn):
+        self.conn = conn
+        self.compress = False
+        self._frames = deque()
+        self._queued_bytes = 0
+        self._closed = False
+        self._condition = threading.Condition()
+        self._thread = threading.Thread(target=self._drain, name='sender', daemon=True)
+        self._thread.start()
+
+    def send(self, request_id, payload, flags=0, max_bytes=None):
+        """
+        Enfileira um quadro para envio ao cliente, sem esperar pela rede.
+
+        Args:
+            request_id (int): O id da requisição respondida.
+            payload (bytes): O conteúdo do quadro.
+            flags (int, optional): As flags do quadro. O padrão é 0 (última parte da resposta).
+            max_bytes (int, optional): Se informado, o quadro é descartado quando a fila já tiver mais bytes que isso.
+
+        Returns:
+            bool: False se o quadro foi descartado porque a conexão foi encerrada ou a fila passou do limite.
+        """
+        with self._condition:
+            if self._closed or (max_bytes is not None and self._queued_bytes > max_bytes):
+                return False
+            self._frames.append((request_id, payload, flags, self.compress))
+            self._queued_bytes += len(payload)
+            self._condition.notify_all()
+            return True
+
+    def wait_drained(self, max_bytes):
+        """
+        Aguarda até que a fila tenha no máximo max_bytes bytes, ou até a conexão ser encerrada. Deve ser chamada sem
+        nenhuma trava, pela thread da conexão, antes de ler a próxima requisição.
+
+        Args:
+            max_bytes (int): A quantidade de bytes enfileirados aceita.
+        """
+        with self._condition:
+            while not self._closed and self._queued_bytes > max_bytes:
+                self._condition.wait()
+
+    def close(self):
+        """
+        Encerra o envio depois dos quadros já enfileirados, aguardando no máximo SEND_DRAIN_TIMEOUT segundos.
+        """
+        with self._condition:
+            self._closed = True
+            self._condition.notify_all()
+        self._thread.join(SEND_DRAIN_TIMEOUT)
+        self.abort()
+        self._thread.join()
+
+    def abort(self):
+        """
+        Encerra a conexão imediatamente, descartando os quadros enfileirados. O envio em andamento e a leitura da
+        próxima requisição pela thread da conexão são interrompidos.
+        """
+        with self._condition:
+            self._closed = True
+            self._frames.clear()
+            self._queued_bytes = 0
+            self._condition.notify_all()
+        try:
+            self.conn.shutdown(socket.SHUT_RDWR)
+        except OSError:
+            pass
+
+    def _drain(self):
+        try:
+            while True:
+                with self._condition:
+                    while not self._frames and not self._closed:
+                        self._condition.wait()
+                    if not self._frames:
+                        return
+                    request_id, payload, flags, compress = self._frames.popleft()
+                    self._queued_bytes -= len(payload)
+                    self._condition.notify_all()
+                if compress and len(payload) >= COMPRESSION_MIN_SIZE:
+                    compressor = zlib.compressobj(zlib.Z_DEFAULT_COMPRESSION, zlib.DEFLATED, -zlib.MAX_WBITS,
+                                                  zdict=COMPRESSION_DICTIONARY)
+                    compressed = compressor.compress(payload) + compressor.flush()
+                    if len(compressed) < len(payload):
+                        payload, flags = compressed, flags | FLAG_DEFLATE
+                send_frame(self.conn, request_id, payload, flags)
+        except OSError as e:
+            print(f"Error sending to client: {e}")
+            self.abort()
+
+class SecondaryIndexes:
+    """
+    Índices secundários dos arquivos de dados, que associam cada valor de nacionalidade e de nomeClube à lista dos
+    byte offsets dos registros com esse valor, em ordem crescente (a ordem do arquivo).
+
+    Cada índice é salvo ao lado do arquivo de dados (veja SECONDARY_INDEX_FIELDS) com a data de modificação e o
+    tamanho do arquivo indexado, e só é usado enquanto corresponder ao arquivo atual. Os índices são criados junto
+    com o índice primário (funcionalidade 4) e atualizados pelas alterações feitas pelo servidor (veja file_change):
+    somente as posições dos ids afetados são trocadas, e a alteração é acrescentada ao registro de alterações
+    (SECONDARY_LOG_SUFFIX), reaplicado sobre os índices salvos quando são lidos. Os índices usados ficam carregados
+    em memória, junto com a posição e os valores indexados de cada id. Deve ser usada com a trava do arquivo de dados
+    (veja command_lock).
+    """
+
+    def __init__(self):
+        self._indexes = {}
+        self._lock = threading.Lock()
+
+    def lookup(self, cwd, data_file):
+        """
+        Retorna os índices de um arquivo de dados, se eles corresponderem ao arquivo atual.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo de dados.
+
+        Returns:
+            dict or None: Para cada campo indexado, as listas de offsets por valor (em bytes UTF-8), ou None se o
+            arquivo não tiver índices atualizados.
+        """
+        stamp = data_stamp(cwd, data_file)
+        if stamp is None:
+            return None
+        key = (cwd, data_file)
+        with self._lock:
+            entry = self._indexes.get(key)
+        if entry is not None and entry[0] == stamp:
+            return entry[1]
+        entry = self._load(cwd, data_file)
+        if entry is None or entry[0] != stamp:
+            entry = (stamp, None, None)
+        with self._lock:
+            # Um índice ausente ou desatualizado também é lembrado, para não ser lido de novo a cada busca
+            self._indexes[key] = entry
+        return entry[1]
+
+    def build(self, cwd, data_file):
+        """
+        Cria os índices de um arquivo de dados com uma única passada pelos registros.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo de dados.
+        """
+        stamp = data_stamp(cwd, data_file)
+        with open(os.path.join(cwd, data_file), 'rb') as file:
+            data = file.read()
+        next_byte_offset = DATA_HEADER.unpack_from(data, 0)[2]
+
+        postings = {field: {} for field in SECONDARY_INDEX_FIELDS}
+        records = {}
+        offset = DATA_HEADER.size
+        while offset < next_byte_offset:
+            removed, size, _, player_id = RECORD_HEADER.unpack_from(data, offset)
+            if removed == b'0':
+                values = indexed_values(data, offset)
+                records[player_id] = (offset, values)
+                for field, value in zip(SECONDARY_INDEX_FIELDS, values):
+                    postings[field].setdefault(value, []).append(offset)
+            offset += size
+        self._save(cwd, data_file, stamp, postings, records)
+
+    def update(self, cwd, data_file, postings, change):
+        """
+        Atualiza os índices de um arquivo de dados depois de uma alteração feita pelo servidor.
+
+        Se os ids afetados são conhecidos, apenas as posições desses ids são trocadas: as antigas são conhecidas
+        pelos próprios índices e as atuais são obtidas pelo índice primário. A alteração é acrescentada ao registro
+        de alterações, e os índices só são salvos por inteiro quando o registro passa de SECONDARY_LOG_MAX_BYTES.
+        Se os ids não são conhecidos, os índices são criados de novo. Arquivos sem índices atualizados antes da
+        alteração continuam sem índices.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo alterado.
+            postings (dict or None): Os índices do arquivo antes da alteração (veja lookup).
+            change (FileChange): Os ids afetados pela alteração.
+        """
+        stamp = data_stamp(cwd, data_file)
+        if postings is None or stamp is None:
+            return
+        with self._lock:
+            entry = self._indexes.get((cwd, data_file))
+        # Os índices já correspondem ao arquivo atual quando foram criados pelo próprio comando (funcionalidade 4)
+        if entry is not None and entry[1] is not postings:
+            return
+        try:
+            operations = None
+            if change.complete and entry is not None:
+                operations = self._apply(cwd, data_file, postings, entry[2], change.player_ids)
+            if operations is None:
+                self.build(cwd, data_file)
+            elif self._append(cwd, data_file, stamp, operations) > SECONDARY_LOG_MAX_BYTES:
+                self._save(cwd, data_file, stamp, postings, entry[2])
+            else:
+                with self._lock:
+                    self._indexes[(cwd, data_file)] = (stamp, postings, entry[2])
+        except (OSError, ValueError, struct.error) as e:
+            print(f"Error updating secondary indexes: {e}")
+            with self._lock:
+                self._indexes.pop((cwd, data_file), None)
+
+    def _apply(self, cwd, data_file, postings, records, player_ids):
+        """
+        Aplica aos índices as alterações dos registros com os ids informados.
+
+        Somente as entradas desses ids no índice primário e os seus registros atuais são lidos, pelos arquivos
+        mapeados em memória; os índices só são alterados depois que todos os registros foram lidos.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo alterado.
+            postings (dict): Os índices antes da alteração, atualizados no lugar.
+            records (dict): A posição e os valores indexados de cada id, atualizados no lugar.
+            player_ids (set): Os ids removidos, inseridos ou substituídos.
+
+        Returns:
+            list or None: As operações aplicadas, como (id, offset, valores), com offset -1 para os ids removidos,
+            ou None se o índice primário não existir ou não corresponder ao arquivo de dados.
+        """
+        index_path = os.path.join(cwd, primary_index_file(data_file))
+        if not os.path.exists(index_path):
+            return None
+        operations = []
+        with open(index_path, 'rb') as index_file, open(os.path.join(cwd, data_file), 'rb') as file, \
+                mmap.mmap(index_file.fileno(), 0, access=mmap.ACCESS_READ) as index, \
+                mmap.mmap(file.fileno(), 0, access=mmap.ACCESS_READ) as data:
+            if index[:1] != b'1':
+                return None
+            for player_id in sorted(player_ids):
+                offset = index_offset(index, player_id)
+                if offset is None:
+                    operations.append((player_id, -1, None))
+                    continue
+                removed, _, _, record_id = RECORD_HEADER.unpack_from(data, offset)
+                if removed != b'0' or record_id != player_id:
+                    return None
+                operations.append((player_id, offset, indexed_values(data, offset)))
+        for operation in operations:
+            self._replace(postings, records, *operation)
+        return operations
+
+    @staticmethod
+    def _replace(postings, records, player_id, offset, values):
+        """
+        Troca nos índices em memória a posição e os valores de um id.
+
+        Args:
+            postings (dict): Os índices, atualizados no lugar.
+            records (dict): A posição e os valores indexados de cada id, atualizados no lugar.
+            player_id (int): O id alterado.
+            offset (int): A posição atual do registro, ou -1 se ele foi removido.
+            values (tuple or None): Os valores indexados do registro atual.
+        """
+        previous = records.pop(player_id, None)
+        if previous is not None:
+            for field, value in zip(SECONDARY_INDEX_FIELDS, previous[1]):
+                offsets = postings[field][value]
+                position = bisect.bisect_left(offsets, previous[0])
+                if position < len(offsets) and offsets[position] == previous[0]:
+                    del offsets[position]
+                if not offsets:
+                    del postings[field][value]
+        if offset >= 0:
+            records[player_id] = (offset, values)
+            for field, value in zip(SECONDARY_INDEX_FIELDS, values):
+                bisect.insort(postings[field].setdefault(value, []), offset)
+
+    def _append(self, cwd, data_file, stamp, operations):
+        """
+        Acrescenta uma alteração ao registro de alterações dos índices.
+
+        A alteração é gravada de uma só vez, precedida do tamanho das suas operações; uma alteração gravada pela
+        metade é ignorada na leitura, e os índices deixam de corresponder ao arquivo.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo alterado.
+            stamp (tuple): A data de modificação e o tamanho do arquivo depois da alteração.
+            operations (list): As operações aplicadas (veja _apply).
+
+        Returns:
+            int: O tamanho do registro de alterações.
+        """
+        parts = []
+        for player_id, offset, values in operations:
+            parts.append(SECONDARY_LOG_OPERATION.pack(player_id, offset))
+            if offset >= 0:
+                parts.extend(struct.pack('<i', len(value)) + value for value in values)
+        body = b''.join(parts)
+        with open(os.path.join(cwd, secondary_index_file(data_file, SECONDARY_LOG_SUFFIX)), 'ab') as file:
+            file.write(SECONDARY_LOG_ENTRY.pack(len(body), stamp[0], stamp[1], len(operations)) + body)
+            return file.tell()
+
+    def _load(self, cwd, data_file):
+        """
+        Lê os índices salvos de um arquivo de dados e reaplica sobre eles o registro de alterações.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo de dados.
+
+        Returns:
+            tuple or None: A data de modificação e o tamanho do arquivo indexado, os índices e a posição e os valores
+            indexados de cada id, ou None se algum índice ou o registro de alterações não existir, estiver
+            inconsistente ou tiver sido criado para outro estado do arquivo.
+        """
+        stamp = None
+        postings = {}
+        records = {}
+        try:
+            for position, (field, (_, suffix)) in enumerate(SECONDARY_INDEX_FIELDS.items()):
+                with open(os.path.join(cwd, secondary_index_file(data_file, suffix)), 'rb') as file:
+                    content = file.read()
+                status, modified, size, count = SECONDARY_INDEX_HEADER.unpack_from(content, 0)
+                if status != b'1' or stamp not in (None, (modified, size)):
+                    return None
+                stamp = (modified, size)
+                values = postings[field] = {}
+                offset = SECONDARY_INDEX_HEADER.size
+                for _ in range(count):
+                    length, = struct.unpack_from('<i', content, offset)
+                    value = content[offset + 4:offset + 4 + length]
+                    total, = struct.unpack_from('<i', content, offset + 4 + length)
+                    offset += 8 + length
+                    offsets = values[value] = list(struct.unpack_from(f'<{total}q', content, offset))
+                    player_ids = struct.unpack_from(f'<{total}i', content, offset + 8 * total)
+                    offset += 12 * total
+                    for record_offset, player_id in zip(offsets, player_ids):
+                        records.setdefault(player_id, (record_offset, [None] * len(SECONDARY_INDEX_FIELDS)))[1][position] = value
+            records = {player_id: (offset, tuple(values)) for player_id, (offset, values) in records.items()}
+
+            with open(os.path.join(cwd, secondary_index_file(data_file, SECONDARY_LOG_SUFFIX)), 'rb') as file:
+                log = file.read()
+            if SECONDARY_LOG_HEADER.unpack_from(log, 0) != stamp:
+                return None
+            offset = SECONDARY_LOG_HEADER.size
+            while offset + SECONDARY_LOG_ENTRY.size <= len(log):
+                length, modified, size, count = SECONDARY_LOG_ENTRY.unpack_from(log, offset)
+                offset += SECONDARY_LOG_ENTRY.size
+                if offset + length > len(log):
+                    break
+                for _ in range(count):
+                    player_id, record_offset = SECONDARY_LOG_OPERATION.unpack_from(log, offset)
+                    offset += SECONDARY_LOG_OPERATION.size
+                    values = []
+                    if record_offset >= 0:
+                        for _ in SECONDARY_INDEX_FIELDS:
+                            length, = struct.unpack_from('<i', log, offset)
+                            values.append(log[offset + 4:offset + 4 + length])
+                            offset += 4 + length
+                    self._replace(postings, records, player_id, record_offset, tuple(values))
+                stamp = (modified, size)
+        except (OSError, struct.error, KeyError):
+            return None
+        return stamp, postings, records
+
+    def _save(self, cwd, data_file, stamp, postings, records):
+        """
+        Salva os índices de um arquivo de dados, recomeça o registro de alterações e mantém os índices em memória.
+
+        Cada arquivo é gravado com o status '0' e marcado como consistente ('1') somente ao final, como os arquivos
+        do programa de arquivos. Para cada valor são gravados o tamanho e os bytes do valor, a quantidade de offsets,
+        os offsets e os ids dos registros. O registro de alterações recomeça com o estado do arquivo indexado.
+
+        Args:
+            cwd (str): O diretório dos arquivos de dados.
+            data_file (str): O nome do arquivo de dados.
+            stamp (tuple): A data de modificação e o tamanho do arquivo indexado.
+            postings (dict): Os índices.
+            records (dict): A posição e os valores indexados de cada id.
+        """
+        owners = {offset: player_id for player_id, (offset, _) in records.items()}
+        for field, (_, suffix) in SECONDARY_INDEX_FIELDS.items():
+            values = postings[field]
+            parts = [SECONDARY_INDEX_HEADER.pack(b'0', stamp[0], stamp[1], len(values))]
+            for value in sorted(values):
+                offsets = values[value]
+                parts.append(struct.pack('<i', len(value)) + value + struct.pack(
+                    f'<i{len(offsets)}q{len(offsets)}i', len(offsets), *offsets, *(owners[offset] for offset in offsets)))
+            with open(os.path.join(cwd, secondary_index_file(data_file, suffix)), 'wb') as file:
+                file.write(b''.join(parts))
+                file.seek(0)
+                file.write(b'1')
+        with open(os.path.join(cwd, secondary_index_file(data_file, SECONDARY_LOG_SUFFIX)), 'wb') as file:
+            file.write(SECONDARY_LOG_HEADER.pack(*stamp))
+        with self._lock:
+            self._indexes[(cwd, data_file)] = (stamp, postings, records)
+
+# Índices secundários carregados, compartilhados por todos os clientes.
+secondary_indexes = SecondaryIndexes()
+
+def start_server(host='127.0.0.1', port=8080, max_workers=DEFAULT_WORKERS):
     """
     Inicia o servidor na máquina local com o endereço IP e porta especificados.
 
     Args:
         host (str, optional): O endereço IP do servidor. O padrão é '127.0.0.1'.
         port (int, optional): A porta do servidor. O padrão é 8080.
+        max_workers (int, optional): A quantidade de clientes conectados ao mesmo tempo; as conexões excedentes
+            são recusadas (veja refuse_client). O padrão é DEFAULT_WORKERS.
     """
     s = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+    slots = threading.BoundedSemaphore(max_workers)
     try:
         s.bind((host, port))
         s.listen()
@@ -22,7 +989,11 @@ def start_server(host='127.0.0.1', port=8080):
         while True:
             try:
                 conn, addr = s.accept()
-                handle_client(conn, addr)
+                if slots.acquire(blocking=False):
+                    # Cada cliente é atendido por uma thread própria durante toda a conexão
+                    threading.Thread(target=serve_client, args=(conn, addr, slots), name='client', daemon=True).start()
+                else:
+                    threading.Thread(target=refuse_client, args=(conn, addr), name='refuse', daemon=True).start()
             except KeyboardInterrupt:
                 print("\nServer is shutting down.")
                 break
@@ -30,11 +1001,58 @@ def start_server(host='127.0.0.1', port=8080):
                 print(f"Error accepting connection: {e}")
     finally:
         s.close()
+        for pool in engine_pools.values():
+            pool.close()
+
+def serve_client(conn, addr, slots):
+    """
+    Atende uma conexão e libera a sua vaga ao final.
+
+    Args:
+        conn (socket): O socket do cliente.
+        addr (tuple): O endereço do cliente.
+        slots (threading.BoundedSemaphore): As vagas de clientes conectados.
+    """
+    try:
+        handle_client(conn, addr)
+    finally:
+        slots.release()
+
+def refuse_client(conn, addr):
+    """
+    Recusa uma conexão quando o limite de clientes conectados foi atingido.
+
+    A primeira requisição recebida em até REFUSE_TIMEOUT segundos é respondida com o status 503, e a conexão é
+    encerrada depois que o cliente fecha a sua parte ou o prazo termina, para que a resposta não seja descartada.
+
+    Args:
+        conn (socket): O socket do cliente.
+        addr (tuple): O endereço do cliente.
+    """
+    print(f"Refused {addr}: too many clients")
+    with conn:
+        try:
+            conn.settimeout(REFUSE_TIMEOUT)
+            header = recv_exact(conn, FRAME_HEADER.size)
+            if header:
+                request_id = FRAME_HEADER.unpack(header)[1]
+                output = '{"payload":"Servidor ocupado: limite de clientes conectados atingido.","status":503}'
+                send_frame(conn, request_id, output.encode())
+            conn.shutdown(socket.SHUT_WR)
+            while conn.recv(STREAM_CHUNK_SIZE):
+                pass
+        except OSError:
+            pass
 
 def handle_client(conn, addr):
     """
     Handles a client connection.
 
+    Cada requisição chega em um quadro com o id escolhido pelo cliente, e a resposta é enviada
+    com o mesmo id, permitindo que o cliente mantenha várias requisições em andamento no socket.
+    As respostas são produzidas com a trava do arquivo de dados (veja command_lock) e enfileiradas no
+    FrameSender da conexão, cuja thread as grava no socket; nenhuma trava é mantida durante o envio.
+
     Args:
         conn (socket): The client socket connection.
         addr (tuple): The client address.
@@ -52,33 +1070,1037 @@ def handle_client(conn, addr):
     exec_path = os.path.normpath(os.path.abspath(os.path.join(current_dir, '..', 'lib', executable)))
     data_dir = os.path.normpath(os.path.abspath(os.path.join(current_dir, '..', 'data')))
 
+    # Envio dos quadros da conexão, compartilhado com as notificações enfileiradas por outras threads
+    sender = FrameSender(conn)
+
     with conn:
         print(f"Connected by {addr}")
         try:
             while True:
-                raw_msglen = conn.recv(4)
-                if not raw_msglen:
+                # Um cliente que não lê as respostas deixa de ter requisições lidas, sem manter nenhuma trava
+                sender.wait_drained(MAX_QUEUED_BYTES)
+                header = recv_exact(conn, FRAME_HEADER.size)
+                if not header:
                     break
-                msglen = struct.unpack('>I', raw_msglen)[0]
+                msglen, request_id, flags = FRAME_HEADER.unpack(header)
 
-                data = conn.recv(msglen)
-                if not data:
+                data = recv_exact(conn, msglen)
+                if data is None:
                     break
 
-                print(f"Received data: {data.decode()}")
+                print(f"Received data [{request_id}]: {data.decode()}")
                 stdin_data = data.decode()
 
-                output = start_child_process(exec_path, stdin_data, data_dir)
-                if output is not None:
-                    output_len = struct.pack('>I', len(output))
-                    conn.sendall(output_len)
-                    conn.sendall(output)
+                known_version = None
+                if stdin_data.startswith(IF_CHANGED_COMMAND):
+                    header, _, stdin_data = stdin_data.partition('\n')
+                    known_version = header[len(IF_CHANGED_COMMAND):].strip()
+
+                if stdin_data.startswith(HELLO_COMMAND):
+                    output, compress = handle_hello_command(stdin_data)
+                    send_response(sender, request_id, output)
+                    # A própria resposta da negociação não é compactada
+                    sender.compress = compress
+                elif stdin_data.startswith(CURSOR_COMMAND):
+                    output = handle_cursor_command(stdin_data, sender, exec_path, data_dir)
+                    send_response(sender, request_id, output)
+                elif stdin_data.startswith((SUBSCRIBE_COMMAND, UNSUBSCRIBE_COMMAND)):
+                    output = handle_subscribe_command(stdin_data, sender, data_dir)
+                    send_response(sender, request_id, output)
+                else:
+                    with command_lock(stdin_data):
+                        if stdin_data.startswith(DELETE_COMMAND):
+                            output = handle_delete_command(stdin_data, data_dir)
+                        elif stdin_data.startswith(DELTA_COMMAND):
+                            output = handle_delta_command(stdin_data, data_dir)
+                        elif stdin_data.startswith(UPSERT_COMMAND):
+                            output = handle_upsert_command(stdin_data, exec_path, data_dir)
+                        elif flags & FLAG_STREAM:
+                            send_chunk = lambda chunk: sender.send(request_id, chunk, FLAG_MORE)
+                            output = execute_command(exec_path, stdin_data, data_dir, send_chunk, known_version)
+                        else:
+                            output = execute_command(exec_path, stdin_data, data_dir, known_version=known_version)
+                        # Enfileirada ainda com a trava, a resposta chega ao cliente antes das notificações das
+                        # alterações seguintes; a thread de envio da conexão a grava no socket depois
+                        send_response(sender, request_id, output)
         except Exception as e:
             print(f"Client error: {e}")
+        finally:
+            subscriptions.remove_connection(sender)
+            cursor_store.close_all(sender)
+            sender.close()
+
+def send_response(sender, request_id, output):
+    """
+    Enfileira a última parte da resposta de uma requisição para envio (veja FrameSender).
+
+    Args:
+        sender (FrameSender): O envio de quadros da conexão.
+        request_id (int): O id da requisição respondida.
+        output (bytes or None): A resposta, ou None se o comando falhou.
+    """
+    if output is None:
+        # O cliente aguarda uma resposta para cada id, mesmo quando o processo falha
+        output = b'{"payload":"Falha ao executar o comando.","status":500}'
+    sender.send(request_id, output)
+
+def handle_hello_command(command):
+    """
+    Negocia as opções da conexão, enviada pelo cliente logo ao conectar.
+
+    Formato: HELLO seguido dos algoritmos de compactação aceitos pelo cliente, separados por espaços. A resposta
+    informa em "payload" o algoritmo escolhido, ou "none" se os quadros não serão compactados.
+
+    Args:
+        command (str): O comando recebido.
+
+    Returns:
+        tuple: A resposta e se os quadros seguintes devem ser compactados.
+    """
+    compress = COMPRESSION_ALGORITHM in command.split()[1:]
+    algorithm = COMPRESSION_ALGORITHM if compress else 'none'
+    return f'{{"payload":"{algorithm}","status":200}}'.encode(), compress
+
+def command_lock(command):
+    """
+    Retorna a trava que deve ser mantida durante a execução de um comando.
+
+    O arquivo de dados é o primeiro arquivo .bin do comando. As buscas (funcionalidades 2 e 3) e a
+    sincronização incremental usam a trava de leitura do arquivo; os demais comandos, que podem alterá-lo ou criar seu índice, usam
+    a trava de escrita.
+
+    Args:
+        command (str): O comando recebido.
+
+    Returns:
+        A trava a ser usada em um bloco with; comandos sem arquivo de dados não são travados.
+    """
+    data_file = command_data_file(command)
+    if data_file is None:
+        return nullcontext()
+    with file_locks_guard:
+        lock = file_locks.setdefault(data_file, ReadWriteLock())
+    return lock.read() if is_read_command(command) else lock.write()
+
+def command_data_file(command):
+    """
+    Retorna o arquivo de dados de um comando, que é o primeiro arquivo .bin de seus argumentos.
+
+    Args:
+        command (str): O comando recebido.
+
+    Returns:
+        str or None: O nome do arquivo, ou None se o comando não usar um arquivo de dados.
+    """
+    args = command.split('\n', 1)[0].split()
+    return next((os.path.basename(arg) for arg in args[1:] if arg.endswith('.bin')), None)
+
+def is_read_command(command):
+    """
+    Verifica se um comando apenas lê o arquivo de dados (funcionalidades 2 e 3 e sincronização incremental).
+
+    Args:
+        command (str): O comando recebido.
+
+    Returns:
+        bool: True se o comando não altera nenhum arquivo.
+    """
+    args = command.split(maxsplit=1)
+    return bool(args) and (args[0] in READ_COMMANDS or args[0] == DELTA_COMMAND)
+
+def file_version(cwd, data_file):
+    """
+    Retorna a versão atual de um arquivo de dados.
+
+    A data de modificação e o tamanho detectam alterações feitas fora do servidor; o contador de alterações
+    distingue alterações feitas pelo servidor em um mesmo instante da data de modificação, já que uma remoção
+    lógica não muda o tamanho do arquivo.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo.
+
+    Returns:
+        tuple or None: A data de modificação, o tamanho e o contador de alterações do arquivo, ou None se ele não existir.
+    """
+    try:
+        stat = os.stat(os.path.join(cwd, data_file))
+    except OSError:
+        return None
+    return stat.st_mtime_ns, stat.st_size, response_cache.changes(data_file)
+
+def data_stamp(cwd, data_file):
+    """
+    Retorna a data de modificação e o tamanho de um arquivo de dados, que identificam o estado indexado pelos
+    índices secundários mesmo depois de reiniciar o servidor.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo.
+
+    Returns:
+        tuple or None: A data de modificação, em nanossegundos, e o tamanho, ou None se o arquivo não existir.
+    """
+    try:
+        stat = os.stat(os.path.join(cwd, data_file))
+    except OSError:
+        return None
+    return stat.st_mtime_ns, stat.st_size
+
+def current_stamp(cwd, data_file):
+    """
+    Retorna o texto da versão atual de um arquivo de dados (veja file_version e version_stamp).
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo.
+
+    Returns:
+        str or None: A versão, ou None se o arquivo não existir.
+    """
+    version = file_version(cwd, data_file)
+    return version_stamp(version) if version is not None else None
+
+@contextmanager
+def file_change(cwd, data_file):
+    """
+    Registra uma alteração de um arquivo de dados feita dentro do bloco with.
+
+    O bloco recebe um FileChange, em que informa os ids afetados. Ao final os índices secundários do arquivo são
+    atualizados (veja SecondaryIndexes), as respostas guardadas do arquivo são descartadas e a alteração é
+    acrescentada ao histórico com as versões anterior e posterior; se o bloco falhar, a alteração é registrada sem
+    ids conhecidos. Deve ser usada com a trava de escrita do arquivo.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo alterado.
+    """
+    before = current_stamp(cwd, data_file)
+    indexed = secondary_indexes.lookup(cwd, data_file)
+    change = FileChange()
+    try:
+        yield change
+    except BaseException:
+        change.complete = False
+        raise
+    finally:
+        secondary_indexes.update(cwd, data_file, indexed, change)
+        response_cache.invalidate(data_file)
+        after = current_stamp(cwd, data_file)
+        change_log.record(data_file, before, after, change)
+        publish_change(cwd, data_file, change, after)
+
+def publish_change(cwd, data_file, change, stamp):
+    """
+    Envia a notificação de uma alteração às conexões inscritas no arquivo (veja Subscriptions).
+
+    A notificação é um quadro com o id PUSH_REQUEST_ID no mesmo formato da sincronização incremental: os registros
+    atuais dos ids inseridos ou substituídos em "payload", os ids removidos em "deleted", além do arquivo em "file"
+    e da nova versão em "version". Se os ids afetados não forem conhecidos, o status é 410 e o cliente deve refazer
+    a busca exibida. Alterações sem registros afetados não são notificadas. Deve ser chamada com a trava de escrita
+    do arquivo, para que as notificações sejam enfileiradas na ordem das alterações.
+
+    As notificações são apenas enfileiradas no FrameSender de cada conexão, sem esperar pela rede. Uma conexão
+    que já tem mais de MAX_QUEUED_BYTES bytes aguardando envio não está lendo o que recebe: ela é desinscrita e
+    encerrada, em vez de acumular notificações indefinidamente, e o cliente refaz a conexão e a busca.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O arquivo alterado.
+        change (FileChange): Os ids afetados pela alteração.
+        stamp (str or None): A versão do arquivo depois da alteração.
+    """
+    subscribers = subscriptions.subscribers(data_file)
+    if not subscribers or stamp is None or (change.complete and not change.player_ids):
+        return
+    if change.complete:
+        payload, deleted = changes_payload(cwd, data_file, change.player_ids)
+        output = (f'{{"payload":[{payload}],"deleted":[{deleted}],"file":"{data_file}",'
+                  f'"status":200,"version":"{stamp}"}}').encode()
+    else:
+        output = f'{{"payload":"Arquivo alterado.","file":"{data_file}","status":410,"version":"{stamp}"}}'.encode()
+    for sender in subscribers:
+        if not sender.send(PUSH_REQUEST_ID, output, max_bytes=MAX_QUEUED_BYTES):
+            print("Dropping unresponsive subscriber")
+            subscriptions.remove_connection(sender)
+            sender.abort()
+
+def record_command_changes(command, change):
+    """
+    Informa os ids afetados por um comando do programa de arquivos.
+
+    As remoções por id (funcionalidade 5 com condições "id") e as inserções (funcionalidade 6) afetam os ids
+    do próprio comando; a criação do índice (funcionalidade 4) não altera registros. Nos demais comandos,
+    como uma remoção por outros campos, os ids afetados não são conhecidos.
+
+    Args:
+        command (str): O comando executado.
+        change (FileChange): A alteração em que os ids são informados.
+    """
+    header, *lines = command.split('\n')
+    args = header.split()
+    lines = [line.split() for line in lines if line.strip()]
+    if args[0] == '5' and all(len(terms) == 3 and terms[:2] == ['1', 'id'] and terms[2].isdigit() for terms in lines):
+        change.player_ids.update(int(terms[2]) for terms in lines)
+    elif args[0] == '6' and all(terms[0].isdigit() for terms in lines):
+        change.player_ids.update(int(terms[0]) for terms in lines)
+    elif args[0] != CREATE_INDEX_COMMAND:
+        change.complete = False
+
+def execute_command(exec_path, command, cwd, send_chunk=None, known_version=None):
+    """
+    Executa um comando do programa de arquivos, respondendo as buscas pelo cache ou pelos índices secundários
+    (veja indexed_search) quando possível.
+
+    A resposta de uma busca recebe a versão do arquivo em que foi produzida (chave "version") e é guardada se
+    o status for 200 ou 404; os demais comandos descartam as respostas guardadas do arquivo que alteram. Se o
+    cliente já conhece a versão atual do arquivo, a busca é respondida com o status 304, sem os registros.
+    Deve ser chamada com a trava do arquivo (veja command_lock), para que nenhuma alteração aconteça entre
+    a execução e o armazenamento da resposta. As alterações são registradas no histórico (veja file_change).
+
+    Args:
+        exec_path (str): O caminho do programa de arquivos.
+        command (str): O comando recebido.
+        cwd (str): O diretório dos arquivos de dados.
+        send_chunk (callable, optional): Se informada, a resposta é transmitida em partes por esta função,
+            como em stream_child_process.
+        known_version (str, optional): A versão do arquivo em que o cliente obteve sua cópia da resposta.
+
+    Returns:
+        bytes or None: A resposta, ou sua última parte quando transmitida, ou None se o comando falhar.
+    """
+    data_file = command_data_file(command)
+    version = file_version(cwd, data_file) if data_file is not None and is_read_command(command) else None
+    if version is None:
+        writes = data_file is not None and not is_read_command(command)
+        with file_change(cwd, data_file) if writes else nullcontext() as change:
+            if send_chunk is not None:
+                output = stream_child_process(exec_path, command, cwd, send_chunk)
+            else:
+                output = start_child_process(exec_path, command, cwd)
+            if change is not None:
+                record_command_changes(command, change)
+                if command.split(maxsplit=1)[0] == CREATE_INDEX_COMMAND and extract_status(output) == 200:
+                    secondary_indexes.build(cwd, data_file)
+        return output
+
+    stamp = version_stamp(version)
+    if known_version == stamp:
+        return f'{{"payload":"Dados não modificados.","status":304,"version":"{stamp}"}}'.encode()
+
+    output = response_cache.get(data_file, command, version)
+    if output is not None:
+        return send_in_chunks(output, send_chunk) if send_chunk is not None else output
+
+    output = with_version(indexed_search(cwd, data_file, command), stamp)
+    if output is not None:
+        response_cache.put(data_file, command, version, output)
+        return send_in_chunks(output, send_chunk) if send_chunk is not None else output
+
+    if send_chunk is not None:
+        # Guarda as partes transmitidas para montar a resposta completa
+        parts = []
+
+        def send_and_keep(chunk):
+            parts.append(chunk)
+            send_chunk(chunk)
+
+        last = with_version(stream_child_process(exec_path, command, cwd, send_and_keep), stamp)
+        output = b''.join(parts) + last if last is not None else None
+    else:
+        output = last = with_version(start_child_process(exec_path, command, cwd), stamp)
+    if output is not None and extract_status(output) in (200, 404):
+        response_cache.put(data_file, command, version, output)
+    return last
+
+def version_stamp(version):
+    """
+    Converte a versão de um arquivo no texto enviado aos clientes.
+
+    Args:
+        version (tuple): A versão retornada por file_version.
+
+    Returns:
+        str: A versão em hexadecimal, no formato "<execução>.<alterações>-<data>-<tamanho>".
+    """
+    return f'{SERVER_INSTANCE}.{version[2]:x}-{version[0]:x}-{version[1]:x}'
+
+def with_version(output, stamp):
+    """
+    Acrescenta a versão do arquivo ao objeto de uma resposta do programa de arquivos.
+
+    Args:
+        output (bytes or None): A resposta, ou a sua última parte, terminada pela chave de fechamento.
+        stamp (str): A versão do arquivo.
+
+    Returns:
+        bytes or None: A resposta com a chave "version", ou a resposta original se ela não terminar em um objeto.
+    """
+    if output is None:
+        return None
+    body = output.rstrip()
+    if not body.endswith(b'}'):
+        return output
+    return body[:-1] + f',"version":"{stamp}"}}'.encode()
+
+def send_in_chunks(output, send_chunk):
+    """
+    Transmite uma resposta guardada em partes, cada uma terminando no fim de um registro.
+
+    Args:
+        output (bytes): A resposta completa.
+        send_chunk (callable): Função chamada com cada parte intermediária.
+
+    Returns:
+        bytes: A última parte, que contém o status.
+    """
+    start = 0
+    while len(output) - start > STREAM_CHUNK_SIZE:
+        cut = output.rfind(RECORD_SEPARATOR, start, start + STREAM_CHUNK_SIZE)
+        if cut == -1:
+            break
+        send_chunk(output[start:cut + 2])
+        start = cut + 2
+    return output[start:]
+
+def handle_cursor_command(command, owner, exec_path, cwd):
+    """
+    Executa um comando de cursor, que permite ao cliente ler um resultado em páginas.
+
+    Comandos aceitos:
+        CURSOR OPEN seguido, na linha seguinte, do comando do programa de arquivos: executa o comando
+            e guarda seus registros (veja CursorStore); a resposta traz o id do cursor e o total de registros.
+        CURSOR FETCH <cursor> <início> <quantidade>: retorna os registros do intervalo, no mesmo
+            formato de uma listagem do programa de arquivos.
+        CURSOR FIND <cursor> <id> [<id> ...]: retorna, no mesmo formato, os registros do cursor com os ids
+            informados; os ids ausentes não faziam parte do resultado quando o cursor foi aberto.
+        CURSOR CLOSE <cursor>: descarta o cursor.
+
+    Args:
+        command (str): O comando recebido.
+        owner (object): A conexão que envia o comando, dona dos seus cursores.
+        exec_path (str): O caminho de execução do programa de arquivos.
+        cwd (str): O diretório de trabalho para o programa de arquivos.
+
+    Returns:
+        bytes: A resposta a ser enviada ao cliente.
+    """
+    header, _, body = command.partition('\n')
+    args = header.split()
+    action = args[1] if len(args) > 1 else ''
+
+    try:
+        if action == 'OPEN':
+            with command_lock(body):
+                output = execute_command(exec_path, body, cwd)
+            if output is None:
+                return None
+            records = split_records(output)
+            if records is None:
+                # Resultado sem registros (por exemplo, 404): repassa a resposta do programa
+                return output
+            cursor_id = cursor_store.open(owner, records)
+            return f'{{"payload":{{"cursor":{cursor_id},"total":{len(records)}}},"status":200}}'.encode()
+
+        if action == 'FETCH':
+            cursor_id, offset, limit = int(args[2]), int(args[3]), int(args[4])
+            records = cursor_store.get(owner, cursor_id)
+            if records is None:
+                return b'{"payload":"Cursor inexistente.","status":404}'
+            return b'{"payload":[' + b','.join(records[offset:offset + limit]) + b'],"status":200}'
+
+        if action == 'FIND':
+            cursor_id, player_ids = int(args[2]), {int(arg) for arg in args[3:]}
+            records = cursor_store.get(owner, cursor_id)
+            if records is None:
+                return b'{"payload":"Cursor inexistente.","status":404}'
+            # Cada registro começa pelo id: {"id":<id>,...
+            found = [record for record in records if int(record[6:record.index(b',', 6)]) in player_ids]
+            return b'{"payload":[' + b','.join(found) + b'],"status":200}'
+
+        if action == 'CLOSE':
+            cursor_store.close(owner, int(args[2]))
+            return b'{"payload":"Cursor fechado.","status":200}'
+    except (IndexError, ValueError):
+        pass
+
+    return '{"payload":"Comando de cursor inválido.","status":400}'.encode()
+
+def handle_upsert_command(command, exec_path, cwd):
+    """
+    Substitui registros, removendo os registros com os mesmos ids e inserindo os novos dados.
+
+    Formato: UPSERT <arquivo.bin> <indice.bin> seguido de uma linha por registro, com os campos no
+    mesmo formato da inserção (funcionalidade 6). Os registros antigos são removidos pelo próprio
+    servidor em uma única passada (veja delete_records) e os novos são enviados ao programa de arquivos
+    em um único comando de inserção. Antes disso os arquivos são copiados, e se alguma etapa falhar
+    eles são restaurados, de modo que nenhum registro fica removido sem a inserção correspondente.
+
+    Args:
+        command (str): O comando recebido.
+        exec_path (str): O caminho de execução do programa de arquivos.
+        cwd (str): O diretório de trabalho para o programa de arquivos.
+
+    Returns:
+        bytes: A resposta da inserção, ou uma resposta de erro se a atualização foi desfeita.
+    """
+    header, *lines = command.split('\n')
+    args = header.split()
+    records = [line for line in lines if line.strip()]
+    player_ids = [record.split(maxsplit=1)[0] for record in records]
+    if len(args) != 3 or not records or not all(player_id.isdigit() for player_id in player_ids):
+        return '{"payload":"Comando de atualização inválido.","status":400}'.encode()
+    data_file, index_file = (os.path.basename(name) for name in args[1:])
+
+    with file_change(cwd, data_file) as change:
+        snapshot = snapshot_files(cwd, [data_file, index_file])
+        try:
+            delete_records(cwd, data_file, index_file, [int(player_id) for player_id in player_ids])
+            values = ''.join(f'\n{record}' for record in records)
+            insert_output = start_child_process(exec_path, f'6 {data_file} {index_file} {len(records)}{values}', cwd)
+            if extract_status(insert_output) == 200:
+                change.player_ids.update(int(player_id) for player_id in player_ids)
+                return insert_output
+        except (OSError, struct.error) as e:
+            print(f"Error updating records: {e}")
+
+        restore_files(snapshot)
+    return '{"payload":"Falha ao atualizar os registros; nenhuma alteração foi aplicada.","status":500}'.encode()
+
+def handle_delete_command(command, cwd):
+    """
+    Remove vários registros pelo id em uma única requisição.
+
+    Formato: DELETE <arquivo.bin> <indice.bin> seguido, na linha seguinte, dos ids separados por espaços.
+
+    Args:
+        command (str): O comando recebido.
+        cwd (str): O diretório dos arquivos de dados.
+
+    Returns:
+        bytes: A resposta com a quantidade de registros removidos.
+    """
+    header, _, body = command.partition('\n')
+    args = header.split()
+    player_ids = body.split()
+    if len(args) != 3 or not player_ids or not all(player_id.isdigit() for player_id in player_ids):
+        return '{"payload":"Comando de remoção inválido.","status":400}'.encode()
+    data_file, index_file = (os.path.basename(name) for name in args[1:])
+
+    with file_change(cwd, data_file) as change:
+        snapshot = snapshot_files(cwd, [data_file, index_file])
+        try:
+            removed = delete_records(cwd, data_file, index_file, [int(player_id) for player_id in player_ids])
+            change.player_ids.update(int(player_id) for player_id in player_ids)
+        except (OSError, struct.error) as e:
+            print(f"Error deleting records: {e}")
+            restore_files(snapshot)
+            return '{"payload":"Falha ao remover os registros; nenhuma alteração foi aplicada.","status":500}'.encode()
+    return f'{{"payload":"{removed} registros removidos.","status":200}}'.encode()
+
+def handle_delta_command(command, cwd):
+    """
+    Envia apenas os registros alterados em um arquivo de dados desde a versão conhecida pelo cliente.
+
+    Formato: DELTA <arquivo.bin> <versão>. Se o arquivo ainda estiver na versão informada, a resposta tem o
+    status 304. Se o histórico de alterações (veja ChangeLog) cobrir todas as alterações desde a versão, a
+    resposta tem o status 200, os registros atuais dos ids afetados em "payload" e os ids que não existem mais
+    em "deleted". Caso contrário a resposta tem o status 410 e o cliente deve buscar os registros novamente.
+    Todas as respostas informam a versão atual em "version".
+
+    Args:
+        command (str): O comando recebido.
+        cwd (str): O diretório dos arquivos de dados.
+
+    Returns:
+        bytes: A resposta da sincronização.
+    """
+    args = command.split()
+    if len(args) != 3:
+        return '{"payload":"Comando de sincronização inválido.","status":400}'.encode()
+    data_file, known_version = os.path.basename(args[1]), args[2]
+
+    stamp = current_stamp(cwd, data_file)
+    if stamp is None:
+        return '{"payload":"Arquivo inexistente.","status":404}'.encode()
+    if known_version == stamp:
+        return f'{{"payload":"Dados não modificados.","status":304,"version":"{stamp}"}}'.encode()
+    player_ids = change_log.since(data_file, known_version, stamp)
+    if player_ids is None:
+        return f'{{"payload":"Histórico de alterações indisponível.","status":410,"version":"{stamp}"}}'.encode()
+
+    payload, deleted = changes_payload(cwd, data_file, player_ids)
+    return f'{{"payload":[{payload}],"deleted":[{deleted}],"status":200,"version":"{stamp}"}}'.encode()
+
+def handle_subscribe_command(command, sender, cwd):
+    """
+    Inscreve ou desinscreve a conexão nas notificações de alteração de um arquivo (veja publish_change).
+
+    Formato: SUBSCRIBE <arquivo.bin> ou UNSUBSCRIBE <arquivo.bin>. A resposta informa a versão atual do arquivo,
+    a partir da qual as alterações serão notificadas.
+
+    Args:
+        command (str): O comando recebido.
+        sender (FrameSender): O envio de quadros da conexão.
+        cwd (str): O diretório dos arquivos de dados.
+
+    Returns:
+        bytes: A resposta da inscrição.
+    """
+    args = command.split()
+    if len(args) != 2 or not args[1].endswith('.bin'):
+        return '{"payload":"Comando de inscrição inválido.","status":400}'.encode()
+    data_file = os.path.basename(args[1])
+    if args[0] == UNSUBSCRIBE_COMMAND:
+        subscriptions.remove(data_file, sender)
+        return '{"payload":"Inscrição cancelada.","status":200}'.encode()
+    subscriptions.add(data_file, sender)
+    stamp = current_stamp(cwd, data_file)
+    version = f',"version":"{stamp}"' if stamp is not None else ''
+    return f'{{"payload":"Inscrição registrada.","status":200{version}}}'.encode()
+
+def changes_payload(cwd, data_file, player_ids):
+    """
+    Monta as listas de registros alterados e de ids removidos de uma sincronização ou notificação.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo de dados.
+        player_ids (set): Os ids afetados pelas alterações.
+
+    Returns:
+        tuple: Os objetos JSON dos registros existentes e os ids que não existem mais, separados por vírgulas.
+    """
+    records = read_records(cwd, data_file, player_ids)
+    payload = ','.join(records[player_id] for player_id in sorted(records))
+    deleted = ','.join(str(player_id) for player_id in sorted(player_ids - records.keys()))
+    return payload, deleted
+
+def read_records(cwd, data_file, player_ids):
+    """
+    Lê os registros não removidos com os ids informados, com uma única passada pelo arquivo de dados.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo de dados.
+        player_ids (set): Os ids procurados.
+
+    Returns:
+        dict: O objeto JSON de cada registro encontrado, no mesmo formato das buscas, pelo id.
+    """
+    with open(os.path.join(cwd, data_file), 'rb') as file:
+        data = file.read()
+    next_byte_offset = DATA_HEADER.unpack_from(data, 0)[2]
+
+    records = {}
+    offset = DATA_HEADER.size
+    while offset < next_byte_offset and len(records) < len(player_ids):
+        removed, size, _, player_id = RECORD_HEADER.unpack_from(data, offset)
+        if removed == b'0' and player_id in player_ids:
+            records[player_id] = format_record(data, offset + RECORD_HEADER.size, player_id)
+        offset += size
+    return records
+
+def format_record(data, offset, player_id):
+    """
+    Converte os campos de um registro no objeto JSON produzido pelo programa de arquivos.
+
+    Args:
+        data (bytes): O conteúdo do arquivo de dados.
+        offset (int): A posição da idade, logo após o cabeçalho do registro.
+        player_id (int): O id do registro.
+
+    Returns:
+        str: O objeto JSON do registro; textos vazios são escritos como "null", como nas buscas.
+    """
+    age, = struct.unpack_from('<i', data, offset)
+    offset += 4
+    fields = []
+    for _ in range(3):
+        length, = struct.unpack_from('<i', data, offset)
+        offset += 4
+        fields.append(data[offset:offset + length].decode('utf-8', 'replace') or 'null')
+        offset += length
+    return (f'{{"id":{player_id},"idade": {age},"nomeJogador":"{fields[0]}",'
+            f'"nacionalidade":"{fields[1]}","nomeClube":"{fields[2]}"}}')
+
+def indexed_search(cwd, data_file, command):
+    """
+    Responde uma busca (funcionalidade 3) pelos índices secundários, sem executar o programa de arquivos.
+
+    Somente buscas com uma única consulta e uma condição de nacionalidade ou de nomeClube usam os índices: as listas
+    de offsets dos valores que atendem a cada condição são intersectadas e apenas esses registros são lidos do
+    arquivo mapeado em memória e comparados com as demais condições, na ordem do arquivo, como no selectWhere do
+    programa de arquivos. Os textos seguem a comparação do programa de arquivos (veja text_matches).
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo de dados.
+        command (str): O comando recebido.
+
+    Returns:
+        bytes or None: A resposta no mesmo formato do programa de arquivos, ou None se a busca não puder usar os índices.
+    """
+    conditions = parse_search_conditions(command)
+    if conditions is None or not conditions.keys() & SECONDARY_INDEX_FIELDS.keys():
+        return None
+    postings = secondary_indexes.lookup(cwd, data_file)
+    if postings is None:
+        return None
+
+    # Começa pela menor lista, de modo que a interseção percorre o menor número de offsets
+    lists = sorted((matching_offsets(postings[field], conditions[field]) for field in SECONDARY_INDEX_FIELDS
+                    if field in conditions), key=len)
+    offsets = lists[0]
+    for other in lists[1:]:
+        members = set(other)
+        offsets = [offset for offset in offsets if offset in members]
+
+    records = []
+    if offsets:
+        with open(os.path.join(cwd, data_file), 'rb') as file, \
+                mmap.mmap(file.fileno(), 0, access=mmap.ACCESS_READ) as data:
+            for offset in offsets:
+                player_id = RECORD_HEADER.unpack_from(data, offset)[3]
+                age, = struct.unpack_from('<i', data, offset + RECORD_HEADER.size)
+                if conditions.get('id', player_id) != player_id or conditions.get('idade', age) != age:
+                    continue
+                if 'nomeJogador' in conditions and not text_matches(record_texts(data, offset)[0],
+                                                                    conditions['nomeJogador']):
+                    continue
+                records.append(format_record(data, offset + RECORD_HEADER.size, player_id))
+    if not records:
+        return b'{"payload":"Registro inexistente.","status":404}'
+    return f'{{"payload":[{",".join(records)}],"status":200}}'.encode()
+
+def text_matches(stored, text):
+    """
+    Compara um texto de um registro com o texto procurado, como o programa de arquivos: o registro atende à condição
+    se o seu texto não for nulo e for um prefixo do texto procurado (ex.: "BORUSSIA DORTMUND" atende a
+    "BORUSSIA DORTMUND II", mas não o contrário).
+
+    Args:
+        stored (bytes): O texto do registro; textos nulos são vazios.
+        text (bytes): O texto procurado.
+
+    Returns:
+        bool: True se o registro atende à condição.
+    """
+    return bool(stored) and text.startswith(stored)
+
+def matching_offsets(values, text):
+    """
+    Reúne as listas de offsets de um índice secundário cujos valores atendem a uma condição (veja text_matches),
+    isto é, as listas de cada prefixo não vazio do texto procurado.
+
+    Args:
+        values (dict): As listas de offsets por valor de um campo.
+        text (bytes): O texto procurado.
+
+    Returns:
+        list: Os offsets dos registros que atendem à condição, em ordem crescente.
+    """
+    lists = [values[text[:length]] for length in range(1, len(text) + 1) if text[:length] in values]
+    if len(lists) == 1:
+        return lists[0]
+    return sorted(offset for offsets in lists for offset in offsets)
+
+def parse_search_conditions(command):
+    """
+    Lê as condições de uma busca (funcionalidade 3) com uma única consulta.
+
+    Args:
+        command (str): O comando recebido, como "3 FIFA23.bin 1\n2 nacionalidade "BRAZIL" idade 28".
+
+    Returns:
+        dict or None: O valor de cada campo, com os textos em bytes UTF-8 e os números como int, ou None se o comando
+        não for uma busca com uma única consulta ou tiver condições que não são reconhecidas.
+    """
+    header, _, body = command.partition('\n')
+    args = header.split()
+    if len(args) != 3 or args[0] != '3' or args[2] != '1':
+        return None
+    count, _, terms = body.strip().partition(' ')
+    if not count.isdigit():
+        return None
+
+    conditions = {}
+    position = 0
+    while position < len(terms):
+        match = SEARCH_CONDITION.match(terms, position)
+        if match is None:
+            return None
+        field, text, number = match.groups()
+        if field not in SEARCH_FIELDS or field in conditions or SEARCH_FIELDS[field] != (text is not None):
+            return None
+        conditions[field] = text.encode() if text is not None else int(number)
+        position = match.end()
+    return conditions if len(conditions) == int(count) else None
+
+def record_texts(data, offset):
+    """
+    Lê os textos de um registro.
+
+    Args:
+        data (bytes or mmap): O conteúdo do arquivo de dados.
+        offset (int): A posição do registro.
+
+    Returns:
+        list: Os bytes UTF-8 de nomeJogador, nacionalidade e nomeClube; textos nulos são vazios.
+    """
+    offset += RECORD_HEADER.size + 4
+    texts = []
+    for _ in range(3):
+        length, = struct.unpack_from('<i', data, offset)
+        texts.append(data[offset + 4:offset + 4 + length])
+        offset += 4 + length
+    return texts
+
+def indexed_values(data, offset):
+    """
+    Lê os valores dos campos com índice secundário de um registro.
+
+    Args:
+        data (bytes or mmap): O conteúdo do arquivo de dados.
+        offset (int): A posição do registro.
+
+    Returns:
+        tuple: Os bytes UTF-8 de cada campo de SECONDARY_INDEX_FIELDS, na mesma ordem.
+    """
+    texts = record_texts(data, offset)
+    return tuple(texts[position] for position, _ in SECONDARY_INDEX_FIELDS.values())
+
+def index_offset(index, player_id):
+    """
+    Procura um id no conteúdo de um arquivo de índice primário, com uma busca binária.
+
+    Args:
+        index (bytes or mmap): O conteúdo do arquivo de índice, com o byte de status.
+        player_id (int): O id procurado.
+
+    Returns:
+        int or None: O byte offset do registro, ou None se o id não estiver no índice.
+    """
+    low, high = 0, (len(index) - 1) // INDEX_ENTRY.size
+    while low < high:
+        middle = (low + high) // 2
+        entry_id, offset = INDEX_ENTRY.unpack_from(index, 1 + middle * INDEX_ENTRY.size)
+        if entry_id == player_id:
+            return offset
+        if entry_id < player_id:
+            low = middle + 1
+        else:
+            high = middle
+    return None
+
+def primary_index_file(data_file):
+    """
+    Retorna o nome do índice primário de um arquivo de dados, como o usado pelo cliente (ex.: FIFA23Indice.bin).
+
+    Args:
+        data_file (str): O nome do arquivo de dados.
+
+    Returns:
+        str: O nome do arquivo de índice.
+    """
+    return secondary_index_file(data_file, 'Indice.bin')
+
+def secondary_index_file(data_file, suffix):
+    """
+    Retorna o nome de um arquivo de índice de um arquivo de dados.
+
+    Args:
+        data_file (str): O nome do arquivo de dados.
+        suffix (str): O sufixo do índice (veja SECONDARY_INDEX_FIELDS).
+
+    Returns:
+        str: O nome do arquivo de índice.
+    """
+    return os.path.splitext(data_file)[0] + suffix
+
+def delete_records(cwd, data_file, index_file, player_ids):
+    """
+    Remove logicamente os registros com os ids informados, com uma única passada pelo arquivo de dados.
+
+    O programa de arquivos aplica apenas a primeira condição de uma remoção com várias condições, então
+    a remoção em lote é feita aqui, produzindo exatamente os mesmos bytes que remoções individuais na
+    mesma ordem: cada registro removido é marcado e inserido na lista de espaços livres, ordenada pelo
+    tamanho do registro (um registro entra antes dos de mesmo tamanho), e o cabeçalho e o índice são
+    atualizados uma única vez ao final.
+
+    Args:
+        cwd (str): O diretório dos arquivos de dados.
+        data_file (str): O nome do arquivo de dados.
+        index_file (str): O nome do arquivo de índice; é criado se ainda não existir.
+        player_ids (list): Os ids a serem removidos, na ordem da requisição.
+
+    Returns:
+        int: A quantidade de registros removidos.
+    """
+    data_path = os.path.join(cwd, data_file)
+    with open(data_path, 'rb') as file:
+        data = bytearray(file.read())
+    status, top, next_byte_offset, record_count, removed_count = DATA_HEADER.unpack_from(data, 0)
+
+    # Passada única pelos registros, localizando os que devem ser removidos e os que permanecem
+    targets = set(player_ids)
+    found = {}
+    remaining = []
+    offset = DATA_HEADER.size
+    while offset < next_byte_offset:
+        removed, size, _, player_id = RECORD_HEADER.unpack_from(data, offset)
+        if removed == b'0':
+            if player_id in targets and player_id not in found:
+                found[player_id] = (offset, size)
+            else:
+                remaining.append((player_id, offset))
+        offset += size
+
+    # Lista de espaços livres atual, do menor para o maior registro
+    free_offsets = []
+    free_sizes = []
+    offset = top
+    while offset != -1:
+        _, size, next_free, _ = RECORD_HEADER.unpack_from(data, offset)
+        free_offsets.append(offset)
+        free_sizes.append(size)
+        offset = next_free
+
+    deleted = [found[player_id] for player_id in dict.fromkeys(player_ids) if player_id in found]
+    for offset, size in deleted:
+        data[offset:offset + 1] = b'1'
+        position = bisect.bisect_left(free_sizes, size)
+        free_offsets.insert(position, offset)
+        free_sizes.insert(position, size)
+
+    if deleted:
+        for position, offset in enumerate(free_offsets):
+            next_free = free_offsets[position + 1] if position + 1 < len(free_offsets) else -1
+            struct.pack_into('<q', data, offset + 5, next_free)
+        DATA_HEADER.pack_into(data, 0, status, free_offsets[0], next_byte_offset,
+                              record_count - len(deleted), removed_count + len(deleted))
+        with open(data_path, 'wb') as file:
+            file.write(data)
+
+    # Reescreve o índice sem os registros removidos, ou o cria a partir dos registros restantes
+    index_path = os.path.join(cwd, index_file)
+    deleted_ids = {player_id for player_id in found}
+    if os.path.exists(index_path):
+        with open(index_path, 'rb') as file:
+            index = file.read()
+        entries = [entry for entry in INDEX_ENTRY.iter_unpack(index[1:]) if entry[0] not in deleted_ids]
+    else:
+        entries = sorted(remaining)
+    with open(index_path, 'wb') as file:
+        file.write(b'1' + b''.join(INDEX_ENTRY.pack(player_id, offset) for player_id, offset in entries))
+
+    return len(deleted)
+
+def snapshot_files(cwd, names):
+    """
+    Lê o conteúdo atual de arquivos de dados, para que possam ser restaurados.
+
+    Args:
+        cwd (str): O diretório dos arquivos.
+        names (list): Os nomes dos arquivos.
+
+    Returns:
+        dict: O conteúdo de cada arquivo, ou None para os arquivos que não existem.
+    """
+    snapshot = {}
+    for name in names:
+        path = os.path.join(cwd, name)
+        if os.path.exists(path):
+            with open(path, 'rb') as file:
+                snapshot[path] = file.read()
+        else:
+            snapshot[path] = None
+    return snapshot
+
+def restore_files(snapshot):
+    """
+    Restaura arquivos de dados a partir de uma cópia feita por snapshot_files.
+
+    Args:
+        snapshot (dict): O conteúdo de cada arquivo.
+    """
+    for path, content in snapshot.items():
+        if content is None:
+            if os.path.exists(path):
+                os.remove(path)
+        else:
+            with open(path, 'wb') as file:
+                file.write(content)
+
+def extract_status(output):
+    """
+    Extrai o status de uma resposta do programa de arquivos.
+
+    Args:
+        output (bytes or None): A saída do programa de arquivos.
+
+    Returns:
+        int or None: O último status da saída, ou None se não houver saída ou status.
+    """
+    if not output:
+        return None
+    statuses = STATUS_PATTERN.findall(output)
+    return int(statuses[-1]) if statuses else None
+
+def split_records(output):
+    """
+    Separa os registros de uma listagem produzida pelo programa de arquivos.
+
+    Args:
+        output (bytes): A saída do programa de arquivos.
+
+    Returns:
+        list or None: Os registros, cada um com suas chaves, ou None se a saída não for uma listagem.
+    """
+    prefix = b'{"payload":['
+    end = output.rfind(b'],"status"')
+    if not output.startswith(prefix) or end == -1:
+        return None
+    body = output[len(prefix):end]
+    if not body:
+        return []
+    records = body[1:-1].split(RECORD_SEPARATOR)
+    return [b'{' + record + b'}' for record in records]
+
+def recv_exact(conn, size):
+    """
+    Lê exatamente `size` bytes do socket.
+
+    Args:
+        conn (socket): O socket de onde os dados serão lidos.
+        size (int): A quantidade de bytes a ser lida.
+
+    Returns:
+        bytes or None: Os bytes lidos, ou None se a conexão for encerrada antes do fim.
+    """
+    buffer = bytearray()
+    while len(buffer) < size:
+        chunk = conn.recv(size - len(buffer))
+        if not chunk:
+            return None
+        buffer.extend(chunk)
+    return bytes(buffer)
+
+def send_frame(conn, request_id, payload, flags=0):
+    """
+    Envia um quadro ao cliente.
+
+    Args:
+        conn (socket): O socket do cliente.
+        request_id (int): O id da requisição respondida.
+        payload (bytes): O conteúdo do quadro.
+        flags (int, optional): As flags do quadro. O padrão é 0 (última parte da resposta).
+    """
+    conn.sendall(FRAME_HEADER.pack(len(payload), request_id, flags) + payload)
 
 def start_child_process(exec_path, stdin_data, cwd):
     """
-    Inicia um processo filho com o caminho de execução especificado.
+    Executa um comando em um processo filho já iniciado do pool do executável especificado.
 
     Args:
         exec_path (str): O caminho de execução do processo filho.
@@ -92,11 +2114,9 @@ def start_child_process(exec_path, stdin_data, cwd):
         Exception: Se ocorrer um erro ao executar o processo filho.
 
     """
-    command = [exec_path]
-
     try:
-        process = subprocess.Popen(command, cwd=cwd, stdin=subprocess.PIPE, stdout=subprocess.PIPE, stderr=subprocess.PIPE)
-        stdout, stderr = process.communicate(input=stdin_data.encode())
+        with engine_pool(exec_path, cwd).process() as process:
+            stdout, stderr = process.communicate(input=stdin_data.encode())
 
         if stderr:
             print(f"Error: {stderr.decode().strip()}")
@@ -106,6 +2126,61 @@ def start_child_process(exec_path, stdin_data, cwd):
         print(f"Error running child process: {e}")
         return None
 
+def stream_child_process(exec_path, stdin_data, cwd, send_chunk):
+    """
+    Executa um comando em um processo filho do pool e repassa sua saída padrão em partes, à medida que é produzida.
+
+    Cada parte termina no fim de um registro, de modo que o cliente pode converter os registros
+    recebidos sem aguardar o restante da resposta. A última parte, que contém o status, é retornada.
+
+    Args:
+        exec_path (str): O caminho de execução do processo filho.
+        stdin_data (str): Os dados a serem passados para o processo filho através da entrada padrão.
+        cwd (str): O diretório de trabalho atual para o processo filho.
+        send_chunk (callable): Função chamada com cada parte intermediária da saída.
+
+    Returns:
+        bytes or None: A última parte da saída padrão, ou None se não houver saída.
+    """
+    try:
+        with engine_pool(exec_path, cwd).process() as process:
+            try:
+                # O erro padrão é lido em paralelo: se o processo enchesse esse pipe enquanto a saída padrão é
+                # repassada, os dois processos ficariam aguardando um ao outro
+                errors = []
+                stderr_reader = threading.Thread(target=lambda: errors.append(process.stderr.read()), daemon=True)
+                stderr_reader.start()
+
+                process.stdin.write(stdin_data.encode())
+                process.stdin.close()
+
+                pending = b''
+                while True:
+                    data = process.stdout.read1(STREAM_CHUNK_SIZE)
+                    if not data:
+                        break
+                    pending += data
+                    # Envia tudo até o último separador completo e mantém o registro parcial
+                    cut = pending.rfind(RECORD_SEPARATOR)
+                    if cut != -1:
+                        send_chunk(pending[:cut + 2])
+                        pending = pending[cut + 2:]
+
+                process.wait()
+                stderr_reader.join()
+                stderr = errors[0] if errors else None
+                if stderr:
+                    print(f"Error: {stderr.decode().strip()}")
+
+                return pending if pending else None
+            finally:
+                # Encerra o processo caso o envio tenha sido interrompido antes do fim da saída
+                if process.poll() is None:
+                    process.kill()
+    except Exception as e:
+        print(f"Error running child process: {e}")
+        return None
+
 def parse_arguments():
     """
     Função para analisar os argumentos de linha de comando.
@@ -117,8 +2192,13 @@ def parse_arguments():
     parser = argparse.ArgumentParser(description='Iniciar o servidor socket que conversa com trabalho de arquivos')
     parser.add_argument('-a', '--address', type=str, default='127.0.0.1', help='Endereço do host para o servidor.')
     parser.add_argument('-p', '--port', type=int, default=8080, help='Porta para o servidor.')
+    parser.add_argument('-w', '--workers', type=int, default=DEFAULT_WORKERS, help='Quantidade máxima de clientes conectados ao mesmo tempo.')
+    parser.add_argument('-e', '--engines', type=int, default=DEFAULT_ENGINES, help='Quantidade de processos do programa de arquivos mantidos prontos.')
+    parser.add_argument('-c', '--cache-mb', type=int, default=DEFAULT_CACHE_MB, help='Tamanho do cache de respostas das buscas, em megabytes.')
     return parser.parse_args()
 
 if __name__ == "__main__":
     args = parse_arguments()
-    start_server(host=args.address, port=args.port)
+    engine_pool_size = args.engines
+    response_cache.max_bytes = args.cache_mb * 1024 * 1024
+    start_server(host=args.address, port=args.port, max_workers=args.workers)